@@ -0,0 +1,30 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Entry point of the benchmarks jar. Runs the benchmarks like
+ * {@link org.openjdk.jmh.Main}, but writes the results as JSON (to
+ * {@code jmh-result.json}, unless {@code -rff} is given) so that they can be
+ * compared between releases. Pass {@code -rf} to choose another result format.
+ *
+ * @author A. Haanstra
+ *
+ */
+public class BenchmarkRunner {
+
+	private static final String RESULT_FORMAT_OPTION = "-rf";
+
+	public static void main(String[] args) throws Exception {
+		if (Arrays.asList(args).contains(RESULT_FORMAT_OPTION)) {
+			Main.main(args);
+		} else {
+			Main.main(Stream.concat(Stream.of(RESULT_FORMAT_OPTION, "json"), Arrays.stream(args))
+					.toArray(String[]::new));
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.hamcrest.Matcher;
+import org.hamcrest.Matchers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.semantica.pocketknife.calls.CallsFactory;
+import com.semantica.pocketknife.calls.DefaultCalls;
+import com.semantica.pocketknife.calls.Invoked;
+
+/**
+ * Measures call verification on a {@link DefaultCalls} registry while the
+ * number of registered calls grows. Exact-argument queries and matcher queries
+ * on a method with few registered calls should stay flat, regardless of the
+ * number of calls registered for other methods.
+ *
+ * @author A. Haanstra
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CallsRegistryVerificationBenchmark {
+
+	@Param({ "10", "1000", "100000" })
+	private int registeredCalls;
+
+	private DefaultCalls<Method> calls;
+	private Method busyMethod;
+	private Method quietMethod;
+	private Matcher<Object> anyObject;
+	private int queriedArg;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		busyMethod = RecordedService.class.getMethod("busy", int.class);
+		quietMethod = RecordedService.class.getMethod("quiet", Object.class);
+		anyObject = Matchers.any(Object.class);
+		calls = CallsFactory.getDefaultCalls();
+		for (int i = 0; i < registeredCalls; i++) {
+			calls.registerCall(busyMethod, i);
+		}
+		calls.registerCall(quietMethod, "quiet");
+		queriedArg = registeredCalls / 2;
+	}
+
+	@Benchmark
+	public boolean verifyExactArguments() {
+		return calls.verifyCall(Invoked.ONCE, busyMethod, queriedArg);
+	}
+
+	@Benchmark
+	public boolean verifyExactArgumentsNeverInvoked() {
+		return calls.verifyCall(Invoked.NEVER, busyMethod, -1);
+	}
+
+	@Benchmark
+	public boolean verifyMatchingArgumentsOnOtherMethod() {
+		return calls.verifyCall(Invoked.ONCE, quietMethod, anyObject);
+	}
+
+	@Benchmark
+	public boolean verifyAndRemoveExactArguments() {
+		boolean verified = calls.verifyAndRemoveCall(Invoked.ONCE, busyMethod, queriedArg);
+		calls.registerCall(busyMethod, queriedArg);
+		return verified;
+	}
+
+	public interface RecordedService {
+		void busy(int arg);
+
+		void quiet(Object arg);
+	}
+
+}
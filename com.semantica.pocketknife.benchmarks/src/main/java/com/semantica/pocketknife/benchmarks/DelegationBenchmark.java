@@ -0,0 +1,85 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.semantica.pocketknife.calls.CallsFactory.CallType;
+import com.semantica.pocketknife.calls.MethodCall;
+import com.semantica.pocketknife.mock.InlineMockers;
+import com.semantica.pocketknife.mock.dto.QualifiedMethodCall;
+import com.semantica.pocketknife.mock.service.InlineMockerDelegatesStore;
+import com.semantica.pocketknife.util.Tuple;
+
+/**
+ * Measures forwarding a call on a mock to its delegate, as done by
+ * {@link InlineMockerDelegatesStore}. The
+ * {@code reflectiveDelegation} benchmark reproduces the previous
+ * implementation, which looked up the delegate with a {@link Tuple} key and
+ * invoked it with {@link Method#invoke(Object, Object...)}, as a reference.
+ *
+ * @author A. Haanstra
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DelegationBenchmark {
+
+	private InlineMockerDelegatesStore store;
+	private Map<Tuple<Class<?>, ?>, Object> reflectiveDelegates;
+	private QualifiedMethodCall<Method> qualifiedMethodCall;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		Repository mock = InlineMockers.get(CallType.DEFAULT).mock(Repository.class);
+		Repository repository = new InMemoryRepository();
+		Method method = Repository.class.getMethod("find", long.class, String.class);
+		store = new InlineMockerDelegatesStore();
+		store.register(Repository.class, mock, repository);
+		reflectiveDelegates = new HashMap<>();
+		reflectiveDelegates.put(new Tuple<>(Repository.class, mock), repository);
+		qualifiedMethodCall = new QualifiedMethodCall<>(mock, new MethodCall<>(method, 42L, "key"));
+	}
+
+	@Benchmark
+	public Optional<Object> generatedInvokerDelegation() {
+		return store.executeDelegate(qualifiedMethodCall);
+	}
+
+	@Benchmark
+	public Optional<Object> reflectiveDelegation() throws ReflectiveOperationException {
+		MethodCall<Method> methodCall = qualifiedMethodCall.getMethodCall();
+		Object delegate = reflectiveDelegates.get(
+				new Tuple<>(methodCall.getMethod().getDeclaringClass(), qualifiedMethodCall.getInvokedOnInstance()));
+		return Optional.ofNullable(methodCall.getMethod().invoke(delegate, methodCall.getArgs()));
+	}
+
+	public interface Repository {
+		String find(long id, String key);
+	}
+
+	public static class InMemoryRepository implements Repository {
+		@Override
+		public String find(long id, String key) {
+			return key;
+		}
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hamcrest.Matchers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.semantica.pocketknife.calls.CallsFactory.CallType;
+import com.semantica.pocketknife.calls.Return;
+import com.semantica.pocketknife.calls.StackTraceCapture;
+import com.semantica.pocketknife.mock.InlineMocker;
+import com.semantica.pocketknife.mock.InlineMockers;
+
+/**
+ * Measures invocations on an inline mock, without stubs, with an exact-argument
+ * stub and with a matcher stub. Every invocation is registered for
+ * verification and consumes a stubbed value, so a fresh mock (with
+ * {@value #INVOCATIONS} stubbed values) is set up for every batch of
+ * {@value #INVOCATIONS} invocations.
+ *
+ * @author A. Haanstra
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InlineMockerBenchmark {
+
+	private static final int INVOCATIONS = 1000;
+
+	@Param({ "NONE", "FULL" })
+	private String stackTraceCapture;
+
+	private MockedService unstubbedMock;
+	private MockedService exactlyStubbedMock;
+	private MockedService matcherStubbedMock;
+
+	@Setup(Level.Invocation)
+	public void setup() throws NoSuchFieldException, IllegalAccessException {
+		StackTraceCapture capture = (StackTraceCapture) StackTraceCapture.class.getField(stackTraceCapture)
+				.get(null);
+		InlineMocker mocker = InlineMockers.get(CallType.DEFAULT, capture);
+		unstubbedMock = mocker.mock(MockedService.class);
+		exactlyStubbedMock = mocker.mock(MockedService.class);
+		mocker.whenIntercepted(exactlyStubbedMock.find(42, "key")).thenReturn("value", Return.times(INVOCATIONS));
+		matcherStubbedMock = mocker.mock(MockedService.class);
+		mocker.whenIntercepted(
+				matcherStubbedMock.find(mocker.matchArgWith(Matchers.greaterThan(0), Integer.class), "key"))
+				.thenReturn("value", Return.times(INVOCATIONS));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(INVOCATIONS)
+	public void unstubbed(Blackhole blackhole) {
+		for (int i = 0; i < INVOCATIONS; i++) {
+			blackhole.consume(unstubbedMock.find(42, "key"));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(INVOCATIONS)
+	public void exactArgumentStub(Blackhole blackhole) {
+		for (int i = 0; i < INVOCATIONS; i++) {
+			blackhole.consume(exactlyStubbedMock.find(42, "key"));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(INVOCATIONS)
+	public void matcherStub(Blackhole blackhole) {
+		for (int i = 0; i < INVOCATIONS; i++) {
+			blackhole.consume(matcherStubbedMock.find(42, "key"));
+		}
+	}
+
+	public interface MockedService {
+		String find(int id, String key);
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.semantica.pocketknife.calls.MethodCall;
+
+/**
+ * Compares the hand-written {@link MethodCall#hashCode()} and
+ * {@link MethodCall#equals(Object)} with the reflection based builders of
+ * commons-lang3 they replaced, both standalone and as used for a
+ * {@link HashMap} lookup.
+ *
+ * @author A. Haanstra
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MethodCallHashingBenchmark {
+
+	private Method method;
+	private Object[] args;
+	private MethodCall<Method> methodCall;
+	private MethodCall<Method> equalMethodCall;
+	private Map<MethodCall<Method>, Object> methodCalls;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		method = RecordedService.class.getMethod("call", String.class, int.class, List.class, int[].class);
+		args = new Object[] { "argument", 42, List.of(1, 2, 3), new int[] { 4, 5, 6 } };
+		methodCall = new MethodCall<>(method, args);
+		equalMethodCall = new MethodCall<>(method, args.clone());
+		methodCalls = new HashMap<>();
+		for (int i = 0; i < 100; i++) {
+			methodCalls.put(new MethodCall<>(method, "argument", i, List.of(), new int[0]), i);
+		}
+		methodCalls.put(methodCall, "found");
+	}
+
+	@Benchmark
+	public int reflectionHashCode() {
+		return HashCodeBuilder.reflectionHashCode(new MethodCall<>(method, args));
+	}
+
+	@Benchmark
+	public int handWrittenHashCode() {
+		return new MethodCall<>(method, args).hashCode();
+	}
+
+	@Benchmark
+	public int cachedHashCode() {
+		return methodCall.hashCode();
+	}
+
+	@Benchmark
+	public boolean reflectionEquals() {
+		return EqualsBuilder.reflectionEquals(methodCall, equalMethodCall);
+	}
+
+	@Benchmark
+	public boolean handWrittenEquals() {
+		return methodCall.equals(equalMethodCall);
+	}
+
+	@Benchmark
+	public Object hashMapLookup() {
+		return methodCalls.get(new MethodCall<>(method, args));
+	}
+
+	public interface RecordedService {
+		void call(String a, int b, List<Integer> c, int[] d);
+	}
+
+}
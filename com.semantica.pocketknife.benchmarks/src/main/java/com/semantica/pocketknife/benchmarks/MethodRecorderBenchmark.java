@@ -0,0 +1,67 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.hamcrest.Matcher;
+import org.hamcrest.Matchers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.semantica.pocketknife.calls.MethodCall;
+import com.semantica.pocketknife.methodrecorder.MethodRecorder;
+
+/**
+ * Measures the construction of a {@link MethodRecorder} (of a class whose
+ * proxy class has already been generated) and recording method calls on its
+ * proxy, with exact and with matching arguments.
+ *
+ * @author A. Haanstra
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MethodRecorderBenchmark {
+
+	private MethodRecorder<RecordedService> methodRecorder;
+	private Matcher<Integer> anyInteger;
+
+	@Setup
+	public void setup() {
+		methodRecorder = new MethodRecorder<>(RecordedService.class);
+		anyInteger = Matchers.any(Integer.class);
+	}
+
+	@Benchmark
+	public MethodRecorder<RecordedService> construct() {
+		return new MethodRecorder<>(RecordedService.class);
+	}
+
+	@Benchmark
+	public MethodCall<Method> getMethodCall() {
+		return methodRecorder.getMethodCall(methodRecorder.getProxy().find(42, "key"));
+	}
+
+	@Benchmark
+	public MethodCall<Method> getMethodCallWithMatcher() {
+		return methodRecorder.getMethodCall(methodRecorder.getProxy()
+				.find(methodRecorder.storeAndCreateIdInstanceOfTypeArgument(anyInteger, Integer.class), "key"));
+	}
+
+	public interface RecordedService {
+		String find(int id, String key);
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.semantica.pocketknife.pojo.PropertyAccessors;
+
+/**
+ * Measures setting and getting an int and a String property of a POJO, through
+ * accessors compiled by {@link PropertyAccessors}. The {@code reflective}
+ * benchmark reproduces the previous implementation of the POJO tester, which
+ * used {@link Method#invoke(Object, Object...)}, as a reference.
+ *
+ * @author A. Haanstra
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertyAccessorBenchmark {
+
+	private final Bean bean = new Bean();
+	private final Object count = 42;
+	private final Object name = "testName";
+	private Method countGetter;
+	private Method countSetter;
+	private Method nameGetter;
+	private Method nameSetter;
+	private Function<Object, Object> countGetterAccessor;
+	private BiConsumer<Object, Object> countSetterAccessor;
+	private Function<Object, Object> nameGetterAccessor;
+	private BiConsumer<Object, Object> nameSetterAccessor;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		countGetter = Bean.class.getMethod("getCount");
+		countSetter = Bean.class.getMethod("setCount", int.class);
+		nameGetter = Bean.class.getMethod("getName");
+		nameSetter = Bean.class.getMethod("setName", String.class);
+		countGetterAccessor = PropertyAccessors.getter(countGetter);
+		countSetterAccessor = PropertyAccessors.setter(countSetter);
+		nameGetterAccessor = PropertyAccessors.getter(nameGetter);
+		nameSetterAccessor = PropertyAccessors.setter(nameSetter);
+	}
+
+	@Benchmark
+	public boolean compiledAccessors() {
+		countSetterAccessor.accept(bean, count);
+		nameSetterAccessor.accept(bean, name);
+		return count.equals(countGetterAccessor.apply(bean)) && name.equals(nameGetterAccessor.apply(bean));
+	}
+
+	@Benchmark
+	public boolean reflective() throws IllegalAccessException, InvocationTargetException {
+		countSetter.invoke(bean, count);
+		nameSetter.invoke(bean, name);
+		return count.equals(countGetter.invoke(bean)) && name.equals(nameGetter.invoke(bean));
+	}
+
+	public static class Bean {
+		private int count;
+		private String name;
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.semantica.pocketknife.methodrecorder.RandomIdentifierValues;
+
+/**
+ * Measures the creation of identifier values for primitive, wrapper and
+ * reference types, with and without warming up a pool of identifier values for
+ * the type (which only applies to reference types).
+ *
+ * @author A. Haanstra
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomIdentifierValuesBenchmark {
+
+	@Param({ "int", "java.lang.Long", "java.lang.Double", "java.lang.Object" })
+	private String type;
+
+	@Param({ "false", "true" })
+	private boolean pooled;
+
+	private Class<?> clazz;
+
+	@Setup
+	public void setup() throws ClassNotFoundException {
+		clazz = ClassUtils.getClass(type);
+		if (pooled) {
+			RandomIdentifierValues.warmUp(clazz);
+		}
+	}
+
+	@Benchmark
+	public Object identifierValue() {
+		return RandomIdentifierValues.identifierValue(clazz);
+	}
+
+}
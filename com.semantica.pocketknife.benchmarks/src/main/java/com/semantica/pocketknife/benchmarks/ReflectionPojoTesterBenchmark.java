@@ -0,0 +1,115 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.semantica.pocketknife.pojo.ReflectionPojoTester;
+
+/**
+ * Measures testing the getters, setters, constructors and toString, equals and
+ * hashCode methods of a single POJO class.
+ *
+ * @author A. Haanstra
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectionPojoTesterBenchmark {
+
+	@Benchmark
+	public void reflectionOnFieldsTest() throws InstantiationException, IllegalAccessException,
+			IllegalArgumentException, InvocationTargetException, NoSuchFieldException, SecurityException {
+		ReflectionPojoTester.reflectionOnFieldsTest(MailboxConfiguration.class);
+	}
+
+	public static class MailboxConfiguration {
+
+		private String host;
+		private int port;
+		private boolean secure;
+		private List<String> folders;
+
+		public MailboxConfiguration() {
+			super();
+		}
+
+		public MailboxConfiguration(String host, int port, boolean secure, List<String> folders) {
+			super();
+			this.host = host;
+			this.port = port;
+			this.secure = secure;
+			this.folders = folders;
+		}
+
+		public String getHost() {
+			return host;
+		}
+
+		public void setHost(String host) {
+			this.host = host;
+		}
+
+		public int getPort() {
+			return port;
+		}
+
+		public void setPort(int port) {
+			this.port = port;
+		}
+
+		public boolean isSecure() {
+			return secure;
+		}
+
+		public void setSecure(boolean secure) {
+			this.secure = secure;
+		}
+
+		public List<String> getFolders() {
+			return folders;
+		}
+
+		public void setFolders(List<String> folders) {
+			this.folders = folders;
+		}
+
+		@Override
+		public String toString() {
+			return "MailboxConfiguration [host=" + host + ", port=" + port + ", secure=" + secure + ", folders="
+					+ folders + "]";
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(folders, host, port, secure);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			MailboxConfiguration other = (MailboxConfiguration) obj;
+			return Objects.equals(folders, other.folders) && Objects.equals(host, other.host) && port == other.port
+					&& secure == other.secure;
+		}
+
+	}
+
+}
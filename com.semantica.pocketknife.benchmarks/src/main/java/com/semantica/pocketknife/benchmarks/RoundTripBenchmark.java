@@ -0,0 +1,72 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.semantica.pocketknife.WrappedSerializable;
+import com.semantica.pocketknife.WrappedSerializable.SerializationType;
+import com.semantica.pocketknife.benchmarks.SerializationFormatBenchmark.Entry;
+import com.semantica.pocketknife.benchmarks.SerializationFormatBenchmark.Snapshot;
+
+/**
+ * Measures {@link WrappedSerializable#roundTripEquals(SerializationType)} on a
+ * fixture graph of 100 entries. The {@code treeComparison} benchmark reproduces
+ * the hand-written round trip check it replaces, which deserializes the JSON
+ * with an object mapper and compares the trees of both JSON representations, as
+ * a reference.
+ *
+ * @author A. Haanstra
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoundTripBenchmark {
+
+	private static final int ENTRIES = 100;
+
+	@Param({ "JSON", "SMILE" })
+	private SerializationType serializationType;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private WrappedSerializable<Snapshot> wrappedSnapshot;
+
+	@Setup
+	public void setup() {
+		Snapshot snapshot = new Snapshot();
+		for (int i = 0; i < ENTRIES; i++) {
+			snapshot.entries.add(new Entry("entry" + i, i, i * 0.5, i % 2 == 0, List.of("tag" + i % 7, "tag")));
+		}
+		wrappedSnapshot = WrappedSerializable.builder(snapshot).build();
+	}
+
+	@Benchmark
+	public boolean roundTripEquals() throws IOException {
+		return wrappedSnapshot.roundTripEquals(serializationType);
+	}
+
+	@Benchmark
+	public boolean treeComparison() throws IOException {
+		String json = objectMapper.writeValueAsString(wrappedSnapshot.getObject());
+		Snapshot deserialized = objectMapper.readValue(json, Snapshot.class);
+		return objectMapper.readTree(json).equals(objectMapper.readTree(objectMapper.writeValueAsString(deserialized)));
+	}
+
+}
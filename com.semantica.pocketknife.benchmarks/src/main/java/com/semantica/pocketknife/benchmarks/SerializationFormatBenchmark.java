@@ -0,0 +1,125 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.semantica.pocketknife.WrappedSerializable;
+
+/**
+ * Compares the size and speed of the binary Smile format with JSON, serializing
+ * and deserializing a fixture graph of a growing number of entries. The
+ * serialized size in bytes is reported as the {@code serializedBytes}
+ * secondary result. JSON is deserialized with a plain object mapper.
+ *
+ * @author A. Haanstra
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationFormatBenchmark {
+
+	@Param({ "10", "1000" })
+	private int entries;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private WrappedSerializable<Snapshot> wrappedSnapshot;
+	private String json;
+	private byte[] bytes;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Size {
+		public long serializedBytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			serializedBytes = 0;
+		}
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		Snapshot snapshot = new Snapshot();
+		for (int i = 0; i < entries; i++) {
+			snapshot.entries.add(new Entry("entry" + i, i, i * 0.5, i % 2 == 0, List.of("tag" + i % 7, "tag")));
+		}
+		wrappedSnapshot = WrappedSerializable.builder(snapshot).build();
+		json = wrappedSnapshot.getJson();
+		bytes = wrappedSnapshot.getBytes();
+	}
+
+	@Benchmark
+	public String serializeJson(Size size) throws IOException {
+		String json = wrappedSnapshot.getJson();
+		// the fixture serializes to ASCII only, one byte per char
+		size.serializedBytes = json.length();
+		return json;
+	}
+
+	@Benchmark
+	public byte[] serializeSmile(Size size) throws IOException {
+		byte[] bytes = wrappedSnapshot.getBytes();
+		size.serializedBytes = bytes.length;
+		return bytes;
+	}
+
+	@Benchmark
+	public Snapshot deserializeJson() throws IOException {
+		return objectMapper.readValue(json, Snapshot.class);
+	}
+
+	@Benchmark
+	public WrappedSerializable<Snapshot> deserializeSmile() throws IOException {
+		return WrappedSerializable.fromBytes(bytes, Snapshot.class);
+	}
+
+	public static class Snapshot implements Serializable {
+		private static final long serialVersionUID = 1L;
+		public List<Entry> entries = new ArrayList<>();
+	}
+
+	public static class Entry implements Serializable {
+		private static final long serialVersionUID = 1L;
+		public String name;
+		public int index;
+		public double weight;
+		public boolean active;
+		public List<String> tags;
+
+		public Entry() {
+			super();
+		}
+
+		public Entry(String name, int index, double weight, boolean active, List<String> tags) {
+			super();
+			this.name = name;
+			this.index = index;
+			this.weight = weight;
+			this.active = active;
+			this.tags = tags;
+		}
+	}
+
+}
@@ -0,0 +1,72 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.semantica.pocketknife.calls.CallsFactory;
+import com.semantica.pocketknife.calls.StackTraceCapture;
+import com.semantica.pocketknife.calls.StrictCalls;
+
+/**
+ * Measures the sequential verification of all calls registered in a
+ * {@link StrictCalls} registry, in the order they were registered, for a
+ * growing number of registered calls. The score is the time to verify the
+ * whole sequence.
+ *
+ * @author A. Haanstra
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StrictCallsVerificationBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	private int registeredCalls;
+
+	private Method method;
+	private StrictCalls<Method> calls;
+
+	@Setup
+	public void setupMethod() throws NoSuchMethodException {
+		method = RecordedService.class.getMethod("call", int.class);
+	}
+
+	@Setup(Level.Invocation)
+	public void registerCalls() {
+		calls = CallsFactory.getStrictCalls(StackTraceCapture.NONE);
+		for (int i = 0; i < registeredCalls; i++) {
+			calls.registerCall(method, i);
+		}
+	}
+
+	@Benchmark
+	public boolean verifySequentially() {
+		boolean verified = true;
+		for (int i = 0; i < registeredCalls; i++) {
+			verified &= calls.verifyAndRemoveCall(method, i);
+		}
+		return verified;
+	}
+
+	public interface RecordedService {
+		void call(int arg);
+	}
+
+}
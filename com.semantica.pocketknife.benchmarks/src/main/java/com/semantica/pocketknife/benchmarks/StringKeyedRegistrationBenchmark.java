@@ -0,0 +1,94 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.semantica.pocketknife.calls.CallsFactory;
+import com.semantica.pocketknife.calls.CallsFactory.CallType;
+import com.semantica.pocketknife.calls.DefaultCalls;
+import com.semantica.pocketknife.calls.StackTraceCapture;
+import com.semantica.pocketknife.util.TestUtils;
+
+/**
+ * Measures the registration of calls in a {@link DefaultCalls} registry that
+ * uses method name Strings as keys, where the method name is resolved from the
+ * call stack. The {@code threadStackTrace*} benchmarks reproduce the previous
+ * implementation based on {@link Thread#getStackTrace()} as a reference.
+ *
+ * Without a logging backend on the class path, trace logging is disabled.
+ *
+ * @author A. Haanstra
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StringKeyedRegistrationBenchmark {
+
+	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory
+			.getLogger(StringKeyedRegistrationBenchmark.class);
+
+	@State(Scope.Thread)
+	public static class Registry {
+
+		@Param({ "NONE", "CALLER_FRAME_ONLY", "FULL" })
+		private String stackTraceCapture;
+
+		private DefaultCalls<String> calls;
+
+		@Setup
+		public void setup() throws NoSuchFieldException, IllegalAccessException {
+			StackTraceCapture capture = (StackTraceCapture) StackTraceCapture.class.getField(stackTraceCapture)
+					.get(null);
+			calls = (DefaultCalls<String>) CallsFactory.getCalls(CallType.DEFAULT, String.class, capture);
+		}
+
+		private void mockedMethod(int arg) {
+			calls.registerCall(arg);
+		}
+
+	}
+
+	@Benchmark
+	public DefaultCalls<String> registerStringKeyedCall(Registry registry) {
+		registry.calls.reset();
+		registry.mockedMethod(42);
+		return registry.calls;
+	}
+
+	@Benchmark
+	public String stackWalkerMethodName() {
+		return TestUtils.getMethodName(0);
+	}
+
+	@Benchmark
+	public String threadStackTraceMethodName() {
+		return Thread.currentThread().getStackTrace()[1].getMethodName();
+	}
+
+	@Benchmark
+	public void stackWalkerTraceLogMethodCall() {
+		TestUtils.traceLogMethodCall(0);
+	}
+
+	@Benchmark
+	public void threadStackTraceTraceLogMethodCall() {
+		log.trace("In method: " + Thread.currentThread().getStackTrace()[1] + ", called from: "
+				+ Thread.currentThread().getStackTrace()[2]);
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.hamcrest.Matchers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.semantica.pocketknife.calls.MethodCall;
+import com.semantica.pocketknife.mock.MockUtils;
+import com.semantica.pocketknife.mock.StubType;
+import com.semantica.pocketknife.mock.dto.QualifiedMethodCall;
+import com.semantica.pocketknife.mock.service.InlineMockerInterceptionsStore;
+
+/**
+ * Measures the stub lookup of an inline mock with many exact-argument stubs and
+ * a few matcher stubs for the same method. The {@code linearScan} benchmark
+ * reproduces the previous lookup, which matched the intercepted call against
+ * all stubbed calls of the mock, as a reference.
+ *
+ * The stubs are consumed by the first invocations, after which the lookup still
+ * finds the (empty) stubs of the intercepted call.
+ *
+ * @author A. Haanstra
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StubLookupBenchmark {
+
+	private static final int MATCHER_STUBS = 3;
+
+	@Param({ "10", "100", "1000" })
+	private int exactStubs;
+
+	private final Object proxy = new Object();
+	private InlineMockerInterceptionsStore exactStubsOnlyStore;
+	private InlineMockerInterceptionsStore store;
+	private Set<MethodCall<Method>> stubbedMethodCalls;
+	private QualifiedMethodCall<Method> interceptedMethodCall;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		Method method = StubbedService.class.getMethod("find", int.class, String.class);
+		exactStubsOnlyStore = new InlineMockerInterceptionsStore();
+		store = new InlineMockerInterceptionsStore();
+		stubbedMethodCalls = new HashSet<>();
+		for (int i = 0; i < exactStubs; i++) {
+			MethodCall<Method> methodCall = new MethodCall<>(method, i, "key" + i);
+			exactStubsOnlyStore.addInterceptions(new QualifiedMethodCall<>(proxy, methodCall), StubType.RETURNS,
+					List.of("value" + i));
+			store.addInterceptions(new QualifiedMethodCall<>(proxy, methodCall), StubType.RETURNS,
+					List.of("value" + i));
+			stubbedMethodCalls.add(methodCall);
+		}
+		for (int i = 0; i < MATCHER_STUBS; i++) {
+			MethodCall<Method> methodCall = new MethodCall<>(method, Matchers.lessThan(-i), Matchers.any(String.class));
+			store.addInterceptions(new QualifiedMethodCall<>(proxy, methodCall), StubType.RETURNS,
+					List.of("negative" + i));
+			stubbedMethodCalls.add(methodCall);
+		}
+		int intercepted = exactStubs / 2;
+		interceptedMethodCall = new QualifiedMethodCall<>(proxy,
+				new MethodCall<>(method, intercepted, "key" + intercepted));
+	}
+
+	@Benchmark
+	public Optional<Object> exactStubsOnly() throws Throwable {
+		return exactStubsOnlyStore.matchExactMethodCallToStoredMatchingMethodCalls(interceptedMethodCall);
+	}
+
+	@Benchmark
+	public Optional<Object> exactAndMatcherStubs() throws Throwable {
+		return store.matchExactMethodCallToStoredMatchingMethodCalls(interceptedMethodCall);
+	}
+
+	@SuppressWarnings("deprecation")
+	@Benchmark
+	public MethodCall<Method> linearScan() {
+		return MockUtils.getStoredMatcherMethodCall(interceptedMethodCall.getMethodCall(), stubbedMethodCalls);
+	}
+
+	public interface StubbedService {
+		String find(int id, String key);
+	}
+
+}
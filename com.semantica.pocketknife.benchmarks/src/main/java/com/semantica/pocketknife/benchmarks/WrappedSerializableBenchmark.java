@@ -0,0 +1,141 @@
+package com.semantica.pocketknife.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.semantica.pocketknife.WrappedSerializable;
+import com.semantica.pocketknife.WrappedSerializable.SerializationType;
+
+/**
+ * Measures {@link WrappedSerializable#toString()}, both on a wrapper that is
+ * reused and on a wrapper that is built for every serialization, which is how
+ * it is typically used in tests. The {@code toStringNewMappers} benchmark
+ * reproduces the previous implementation, which created new JSON and YAML
+ * object mappers for every wrapper it built, as a reference. It also measures
+ * memoized serialization and streaming the serialized object to an output
+ * stream, compared to writing the serialized String to it.
+ *
+ * @author A. Haanstra
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WrappedSerializableBenchmark {
+
+	@Param({ "JSON", "YAML" })
+	private SerializationType serializationType;
+
+	private Message message;
+	private WrappedSerializable<Message> wrappedMessage;
+	private WrappedSerializable<Message> memoizedWrappedMessage;
+	private final OutputStream out = OutputStream.nullOutputStream();
+
+	@Setup
+	public void setup() {
+		message = new Message("sender@example.com", List.of("recipient@example.com", "cc@example.com"), "Subject",
+				42);
+		wrappedMessage = WrappedSerializable.builder(message).defaultSerializationType(serializationType).build();
+		memoizedWrappedMessage = WrappedSerializable.builder(message).defaultSerializationType(serializationType)
+				.memoize(true).build();
+	}
+
+	@Benchmark
+	public String toStringReusedWrapper() {
+		return wrappedMessage.toString();
+	}
+
+	@Benchmark
+	public String toStringNewWrapper() {
+		return WrappedSerializable.builder(message).defaultSerializationType(serializationType).build().toString();
+	}
+
+	@Benchmark
+	public String toStringMemoizedWrapper() {
+		return memoizedWrappedMessage.toString();
+	}
+
+	@Benchmark
+	public void writeToStream() throws IOException {
+		if (serializationType == SerializationType.JSON) {
+			wrappedMessage.writeJsonTo(out);
+		} else {
+			wrappedMessage.writeYamlTo(out);
+		}
+	}
+
+	@Benchmark
+	public void writeStringToStream() throws IOException {
+		out.write(wrappedMessage.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Benchmark
+	public WrappedSerializable<Message> build() {
+		return WrappedSerializable.builder(message).defaultSerializationType(serializationType).build();
+	}
+
+	@Benchmark
+	public String toStringNewMappers() throws JsonProcessingException {
+		ObjectMapper objectToJsonMapper = new ObjectMapper();
+		ObjectMapper objectToYamlMapper = new ObjectMapper(new YAMLFactory());
+		return (serializationType == SerializationType.JSON ? objectToJsonMapper : objectToYamlMapper)
+				.writeValueAsString(message);
+	}
+
+	public static class Message implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+		private final String sender;
+		private final List<String> recipients;
+		private final String subject;
+		private final int size;
+
+		public Message(String sender, List<String> recipients, String subject, int size) {
+			super();
+			this.sender = sender;
+			this.recipients = recipients;
+			this.subject = subject;
+			this.size = size;
+		}
+
+		public String getSender() {
+			return sender;
+		}
+
+		public List<String> getRecipients() {
+			return recipients;
+		}
+
+		public String getSubject() {
+			return subject;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+	}
+
+}
@@ -1,13 +1,21 @@
 package com.semantica.pocketknife;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
 import java.util.Objects;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
 /**
@@ -21,6 +29,27 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
  * object (and passing it to methods) in itself: value objects should be
  * obtained from its {@link #getJson()}, {@link #getYaml()} and
  * {@link #getObject()} methods.
+ * 
+ * Wrappers share their (thread-safe) object mappers, and the object writers
+ * and readers derived from the default JSON, YAML and Smile mappers are cached
+ * per serialized class, so that building a wrapper is cheap. Custom mappers
+ * can be set on the builder; their writers and readers are not cached, so that
+ * the mappers are not kept alive.
+ * 
+ * For immutable wrapped objects, the serialized forms can be memoized (see
+ * {@link WrappedSerializableBuilder#memoize(boolean)}). Large objects can be
+ * streamed to a target with {@link #writeJsonTo(OutputStream)} and
+ * {@link #writeYamlTo(OutputStream)} (and their {@link Writer} variants)
+ * instead of being serialized to a String first.
+ * 
+ * For large objects, the compact binary Smile format (see {@link #getBytes()}
+ * and {@link #fromBytes(byte[], Class)}) is smaller and faster than JSON and
+ * YAML.
+ * 
+ * Wrappers can also be created from serialized objects (see
+ * {@link #parseJson(String, Class)} and {@link #parseYaml(String, Class)}),
+ * and {@link #roundTripEquals()} checks whether the wrapped object survives a
+ * serialization round trip.
  *
  * @author A. Haanstra
  *
@@ -29,14 +58,42 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 public class WrappedSerializable<S extends Serializable> {
 
 	public enum SerializationType {
-		JSON, YAML;
+		JSON, YAML,
+		/**
+		 * Binary Smile format; {@link WrappedSerializable#toString()} renders it Base64
+		 * encoded.
+		 */
+		SMILE;
 	}
 
+	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(WrappedSerializable.class);
+	private static final ObjectMapper DEFAULT_JSON_MAPPER = new ObjectMapper();
+	private static final ObjectMapper DEFAULT_YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+	private static final ObjectMapper DEFAULT_SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+	// key: a default object mapper, value: its writers per serialized class.
+	// Writers and readers are only cached for the default mappers, as they
+	// reference their mapper and would keep custom mappers alive.
+	private static final Map<ObjectMapper, ClassValue<ObjectWriter>> WRITERS = Map.of(DEFAULT_JSON_MAPPER,
+			writersOf(DEFAULT_JSON_MAPPER), DEFAULT_YAML_MAPPER, writersOf(DEFAULT_YAML_MAPPER), DEFAULT_SMILE_MAPPER,
+			writersOf(DEFAULT_SMILE_MAPPER));
+	// key: a default object mapper, value: its readers per deserialized class
+	private static final Map<ObjectMapper, ClassValue<ObjectReader>> READERS = Map.of(DEFAULT_JSON_MAPPER,
+			readersOf(DEFAULT_JSON_MAPPER), DEFAULT_YAML_MAPPER, readersOf(DEFAULT_YAML_MAPPER), DEFAULT_SMILE_MAPPER,
+			readersOf(DEFAULT_SMILE_MAPPER));
+
 	private final S serializable;
-	private final ObjectMapper objectToJsonMapper;
-	private final ObjectMapper objectToYamlMapper;
+	private final ObjectMapper jsonMapper;
+	private final ObjectMapper yamlMapper;
+	private final ObjectMapper smileMapper;
+	private final ObjectWriter jsonWriter;
+	private final ObjectWriter yamlWriter;
+	private final ObjectWriter smileWriter;
 	private final SerializationType defaultSerializationType;
-	private final Logger log;
+	private final boolean memoize;
+	// Only set if memoize is true. Racy single-check: concurrent first calls may
+	// serialize more than once, but always to the same String.
+	private volatile String json;
+	private volatile String yaml;
 
 	public static <S extends Serializable> WrappedSerializableBuilder<S> builder(S serializable) {
 		return new WrappedSerializableBuilder<>(serializable);
@@ -46,6 +103,10 @@ public class WrappedSerializable<S extends Serializable> {
 
 		private S serializable;
 		private SerializationType defaultSerializationType;
+		private ObjectMapper objectToJsonMapper = DEFAULT_JSON_MAPPER;
+		private ObjectMapper objectToYamlMapper = DEFAULT_YAML_MAPPER;
+		private ObjectMapper objectToSmileMapper = DEFAULT_SMILE_MAPPER;
+		private boolean memoize;
 
 		public WrappedSerializableBuilder(S serializable) {
 			this.serializable = serializable;
@@ -56,6 +117,58 @@ public class WrappedSerializable<S extends Serializable> {
 			return this;
 		}
 
+		/**
+		 * Sets the mapper used to serialize to JSON, instead of the shared default
+		 * mapper. The mapper should not be reconfigured after it has been used to
+		 * build a wrapper.
+		 *
+		 * @param objectToJsonMapper The mapper used for JSON serialization
+		 * @return This builder
+		 */
+		public WrappedSerializableBuilder<S> objectToJsonMapper(ObjectMapper objectToJsonMapper) {
+			this.objectToJsonMapper = Objects.requireNonNull(objectToJsonMapper);
+			return this;
+		}
+
+		/**
+		 * Sets the mapper used to serialize to YAML, instead of the shared default
+		 * mapper (which is backed by a {@link YAMLFactory}). The mapper should not be
+		 * reconfigured after it has been used to build a wrapper.
+		 *
+		 * @param objectToYamlMapper The mapper used for YAML serialization
+		 * @return This builder
+		 */
+		public WrappedSerializableBuilder<S> objectToYamlMapper(ObjectMapper objectToYamlMapper) {
+			this.objectToYamlMapper = Objects.requireNonNull(objectToYamlMapper);
+			return this;
+		}
+
+		/**
+		 * Sets the mapper used to serialize to Smile, instead of the shared default
+		 * mapper (which is backed by a {@link SmileFactory}). The mapper should not be
+		 * reconfigured after it has been used to build a wrapper.
+		 *
+		 * @param objectToSmileMapper The mapper used for Smile serialization
+		 * @return This builder
+		 */
+		public WrappedSerializableBuilder<S> objectToSmileMapper(ObjectMapper objectToSmileMapper) {
+			this.objectToSmileMapper = Objects.requireNonNull(objectToSmileMapper);
+			return this;
+		}
+
+		/**
+		 * Sets whether the JSON and YAML representations are cached after they have
+		 * been serialized the first time. Only to be used for wrapped objects that are
+		 * not modified afterwards. Defaults to false.
+		 *
+		 * @param memoize Whether to cache the serialized representations
+		 * @return This builder
+		 */
+		public WrappedSerializableBuilder<S> memoize(boolean memoize) {
+			this.memoize = memoize;
+			return this;
+		}
+
 		/**
 		 * If {@link #defaultSerializationType} was not set, the builder uses a
 		 * {@link SerializationType#JSON} as {@link #defaultSerializationType}.
@@ -66,15 +179,102 @@ public class WrappedSerializable<S extends Serializable> {
 			if (defaultSerializationType == null) {
 				defaultSerializationType = SerializationType.JSON;
 			}
-			ObjectMapper objectToJsonMapper = new ObjectMapper();
-			ObjectMapper objectToYamlMapper = new ObjectMapper(new YAMLFactory());
-			Logger log = LoggerFactory.getLogger(WrappedSerializable.class);
 			return new WrappedSerializable<S>(serializable, defaultSerializationType, objectToJsonMapper,
-					objectToYamlMapper, log);
+					objectToYamlMapper, objectToSmileMapper, memoize);
 		}
 
 	}
 
+	/*
+	 * A writer for the runtime class of the wrapped object serializes the object
+	 * the same way as the mapper itself does, but resolves the serializer of the
+	 * class only once. The writers leave targets that are written to open.
+	 */
+	private static ObjectWriter getWriter(ObjectMapper objectMapper, Class<?> clazz) {
+		ClassValue<ObjectWriter> writers = WRITERS.get(objectMapper);
+		return writers != null ? writers.get(clazz) : createWriter(objectMapper, clazz);
+	}
+
+	private static ObjectWriter createWriter(ObjectMapper objectMapper, Class<?> clazz) {
+		return objectMapper.writerFor(clazz).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+
+	private static ClassValue<ObjectWriter> writersOf(ObjectMapper objectMapper) {
+		return new ClassValue<>() {
+			@Override
+			protected ObjectWriter computeValue(Class<?> type) {
+				return createWriter(objectMapper, type);
+			}
+		};
+	}
+
+	/*
+	 * Readers are specialized for the class, and resolve its deserializer only
+	 * once.
+	 */
+	private static ObjectReader getReader(ObjectMapper objectMapper, Class<?> clazz) {
+		ClassValue<ObjectReader> readers = READERS.get(objectMapper);
+		return readers != null ? readers.get(clazz) : objectMapper.readerFor(clazz);
+	}
+
+	private static ClassValue<ObjectReader> readersOf(ObjectMapper objectMapper) {
+		return new ClassValue<>() {
+			@Override
+			protected ObjectReader computeValue(Class<?> type) {
+				return objectMapper.readerFor(type);
+			}
+		};
+	}
+
+	/**
+	 * Deserializes an object from its JSON representation (see {@link #getJson()})
+	 * and wraps it, with the default builder settings.
+	 *
+	 * @param <S>   The type of the serialized object
+	 * @param json  The JSON representation of the object
+	 * @param clazz The class of the serialized object
+	 * @return A {@link WrappedSerializable} around the deserialized object
+	 * @throws JsonProcessingException
+	 */
+	public static <S extends Serializable> WrappedSerializable<S> parseJson(String json, Class<S> clazz)
+			throws JsonProcessingException {
+		S serializable = getReader(DEFAULT_JSON_MAPPER, clazz).readValue(json);
+		return builder(serializable).build();
+	}
+
+	/**
+	 * Deserializes an object from its YAML representation (see {@link #getYaml()})
+	 * and wraps it, with the default builder settings, except for the default
+	 * serialization type, which is {@link SerializationType#YAML}.
+	 *
+	 * @param <S>   The type of the serialized object
+	 * @param yaml  The YAML representation of the object
+	 * @param clazz The class of the serialized object
+	 * @return A {@link WrappedSerializable} around the deserialized object
+	 * @throws JsonProcessingException
+	 */
+	public static <S extends Serializable> WrappedSerializable<S> parseYaml(String yaml, Class<S> clazz)
+			throws JsonProcessingException {
+		S serializable = getReader(DEFAULT_YAML_MAPPER, clazz).readValue(yaml);
+		return builder(serializable).defaultSerializationType(SerializationType.YAML).build();
+	}
+
+	/**
+	 * Deserializes an object from its Smile representation (see
+	 * {@link #getBytes()}) and wraps it, with the default builder settings.
+	 *
+	 * @param <S>   The type of the serialized object
+	 * @param bytes The Smile representation of the object
+	 * @param clazz The class of the serialized object
+	 * @return A {@link WrappedSerializable} around the deserialized object
+	 * @throws IOException
+	 */
+	public static <S extends Serializable> WrappedSerializable<S> fromBytes(byte[] bytes, Class<S> clazz)
+			throws IOException {
+		S serializable = getReader(DEFAULT_SMILE_MAPPER, clazz).readValue(bytes);
+		return builder(serializable).build();
+	}
+
 	/**
 	 * Constructs a WrappedSerializable object around a Serializable object and sets
 	 * the default serialization type used by {@link #toString()}.
@@ -82,15 +282,30 @@ public class WrappedSerializable<S extends Serializable> {
 	 * @param serializable             The wrapped object used in the unit test
 	 * @param defaultSerializationType The default serialization type used by
 	 *                                 {@link #toString()}
+	 * @param jsonMapper               The mapper used for JSON (de)serialization
+	 * @param yamlMapper               The mapper used for YAML (de)serialization
+	 * @param smileMapper              The mapper used for Smile
+	 *                                 (de)serialization
+	 * @param memoize                  Whether to cache the serialized
+	 *                                 representations
 	 */
-	WrappedSerializable(S serializable, SerializationType defaultSerializationType, ObjectMapper objectToJsonMapper,
-			ObjectMapper objectToYamlMapper, Logger log) {
+	WrappedSerializable(S serializable, SerializationType defaultSerializationType, ObjectMapper jsonMapper,
+			ObjectMapper yamlMapper, ObjectMapper smileMapper, boolean memoize) {
 		super();
 		this.serializable = serializable;
 		this.defaultSerializationType = defaultSerializationType;
-		this.objectToJsonMapper = objectToJsonMapper;
-		this.objectToYamlMapper = objectToYamlMapper;
-		this.log = log;
+		this.jsonMapper = jsonMapper;
+		this.yamlMapper = yamlMapper;
+		this.smileMapper = smileMapper;
+		Class<?> clazz = getSerializableClass();
+		this.jsonWriter = getWriter(jsonMapper, clazz);
+		this.yamlWriter = getWriter(yamlMapper, clazz);
+		this.smileWriter = getWriter(smileMapper, clazz);
+		this.memoize = memoize;
+	}
+
+	private Class<?> getSerializableClass() {
+		return serializable == null ? Object.class : serializable.getClass();
 	}
 
 	/**
@@ -107,7 +322,15 @@ public class WrappedSerializable<S extends Serializable> {
 	 * @throws JsonProcessingException
 	 */
 	public String getJson() throws JsonProcessingException {
-		return objectToJsonMapper.writeValueAsString(serializable);
+		if (!memoize) {
+			return jsonWriter.writeValueAsString(serializable);
+		}
+		String json = this.json;
+		if (json == null) {
+			json = jsonWriter.writeValueAsString(serializable);
+			this.json = json;
+		}
+		return json;
 	}
 
 	/**
@@ -116,7 +339,157 @@ public class WrappedSerializable<S extends Serializable> {
 	 * @throws JsonProcessingException
 	 */
 	public String getYaml() throws JsonProcessingException {
-		return objectToYamlMapper.writeValueAsString(serializable);
+		if (!memoize) {
+			return yamlWriter.writeValueAsString(serializable);
+		}
+		String yaml = this.yaml;
+		if (yaml == null) {
+			yaml = yamlWriter.writeValueAsString(serializable);
+			this.yaml = yaml;
+		}
+		return yaml;
+	}
+
+	/**
+	 * Serializes the wrapped object to the binary Smile format. The result is never
+	 * memoized.
+	 *
+	 * @return The Smile representation of the wrapped object
+	 * @throws JsonProcessingException
+	 */
+	public byte[] getBytes() throws JsonProcessingException {
+		return smileWriter.writeValueAsBytes(serializable);
+	}
+
+	/**
+	 * Writes the Smile representation of the wrapped object to the given output
+	 * stream. The output stream is flushed, but not closed.
+	 *
+	 * @param out The output stream to write to
+	 * @throws IOException
+	 */
+	public void writeBytesTo(OutputStream out) throws IOException {
+		smileWriter.writeValue(out, serializable);
+	}
+
+	/**
+	 * Writes the JSON representation of the wrapped object (UTF-8 encoded) to the
+	 * given output stream. The output stream is flushed, but not closed.
+	 *
+	 * @param out The output stream to write to
+	 * @throws IOException
+	 */
+	public void writeJsonTo(OutputStream out) throws IOException {
+		writeTo(out, jsonWriter, json);
+	}
+
+	/**
+	 * Writes the JSON representation of the wrapped object to the given writer. The
+	 * writer is flushed, but not closed.
+	 *
+	 * @param writer The writer to write to
+	 * @throws IOException
+	 */
+	public void writeJsonTo(Writer writer) throws IOException {
+		writeTo(writer, jsonWriter, json);
+	}
+
+	/**
+	 * Writes the YAML representation of the wrapped object (UTF-8 encoded) to the
+	 * given output stream. The output stream is flushed, but not closed.
+	 *
+	 * @param out The output stream to write to
+	 * @throws IOException
+	 */
+	public void writeYamlTo(OutputStream out) throws IOException {
+		writeTo(out, yamlWriter, yaml);
+	}
+
+	/**
+	 * Writes the YAML representation of the wrapped object to the given writer. The
+	 * writer is flushed, but not closed.
+	 *
+	 * @param writer The writer to write to
+	 * @throws IOException
+	 */
+	public void writeYamlTo(Writer writer) throws IOException {
+		writeTo(writer, yamlWriter, yaml);
+	}
+
+	/*
+	 * A memoized representation is written as is, streaming the object is not
+	 * cheaper then.
+	 */
+	private void writeTo(OutputStream out, ObjectWriter objectWriter, String memoized) throws IOException {
+		if (memoized == null) {
+			objectWriter.writeValue(out, serializable);
+		} else {
+			out.write(memoized.getBytes(StandardCharsets.UTF_8));
+			out.flush();
+		}
+	}
+
+	private void writeTo(Writer writer, ObjectWriter objectWriter, String memoized) throws IOException {
+		if (memoized == null) {
+			objectWriter.writeValue(writer, serializable);
+		} else {
+			writer.write(memoized);
+			writer.flush();
+		}
+	}
+
+	/**
+	 * Determines whether the wrapped object survives a round trip of serialization
+	 * to and deserialization from the default serialization type.
+	 *
+	 * @see #roundTripEquals(SerializationType)
+	 * @return True if the deserialized object serializes the same as the wrapped
+	 *         object
+	 * @throws IOException If the object cannot be serialized or deserialized
+	 */
+	public boolean roundTripEquals() throws IOException {
+		return roundTripEquals(defaultSerializationType);
+	}
+
+	/**
+	 * Determines whether the wrapped object survives a round trip of serialization
+	 * to and deserialization from the given serialization type: the object is
+	 * serialized, deserialized to an instance of its class, and the serialized form
+	 * of that instance should be equal to the original serialized form. The wrapped
+	 * object's equals method is not used, so it needs not be implemented.
+	 *
+	 * @param serializationType The serialization type of the round trip
+	 * @return True if the deserialized object serializes the same as the wrapped
+	 *         object
+	 * @throws IOException If the object cannot be serialized or deserialized
+	 */
+	public boolean roundTripEquals(SerializationType serializationType) throws IOException {
+		ObjectMapper mapper;
+		ObjectWriter writer;
+		switch (serializationType) {
+		case JSON:
+			mapper = jsonMapper;
+			writer = jsonWriter;
+			break;
+		case YAML:
+			mapper = yamlMapper;
+			writer = yamlWriter;
+			break;
+		case SMILE:
+			mapper = smileMapper;
+			writer = smileWriter;
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown serialization type.");
+		}
+		byte[] serialized = writer.writeValueAsBytes(serializable);
+		Object deserialized = getReader(mapper, getSerializableClass()).readValue(serialized);
+		byte[] reserialized = writer.writeValueAsBytes(deserialized);
+		// The same writer serializes equal objects to the same bytes, unless they
+		// contain maps whose entries were deserialized in a different order. Only
+		// then, compare trees (of which object nodes ignore the order of fields).
+		return Arrays.equals(serialized, reserialized)
+				|| mapper.readTree(serialized).equals(mapper.readTree(reserialized));
 	}
 
 	/**
@@ -131,6 +504,8 @@ public class WrappedSerializable<S extends Serializable> {
 				return getJson();
 			case YAML:
 				return getYaml();
+			case SMILE:
+				return Base64.getEncoder().encodeToString(getBytes());
 			default:
 				throw new IllegalStateException("Unknown default serialization type set.");
 			}
@@ -3,13 +3,12 @@ package com.semantica.pocketknife.calls;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.semantica.pocketknife.util.TestUtils;
@@ -26,17 +25,41 @@ abstract class AbstractCallsRegistry<T> implements Calls<T> {
 
 	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(Calls.class);
 	protected final Class<T> keyClass;
-	protected Map<MethodCall<T>, List<MethodCallInformation>> calls = new HashMap<>();
+	private final MethodCallIndex<T> indexedCalls = new MethodCallIndex<>();
+	protected final Map<MethodCall<T>, List<MethodCallInformation>> calls = indexedCalls;
 	protected int sequentialCallNo = 0;
+	private final StackTraceCapture stackTraceCapture;
+	/*
+	 * The public registerCall methods are invoked via the visibility bridge methods
+	 * that the compiler generates in the public subclasses of this package-private
+	 * class, so the caller is 2 frames away from the registerCall method.
+	 */
+	private static final int FRAMES_TO_CALLER = 2;
 
 	/**
-	 * Creates a Calls registry that is initialized to the given key class.
+	 * Creates a Calls registry that is initialized to the given key class. The
+	 * full stack trace is captured for every registered call.
 	 *
 	 * @param methodClass Determines the class that will be used to store methods.
 	 *                    Allowed values are String.class or Method.class
 	 */
 	protected AbstractCallsRegistry(Class<T> methodClass) {
+		this(methodClass, StackTraceCapture.FULL);
+	}
+
+	/**
+	 * Creates a Calls registry that is initialized to the given key class and
+	 * captures stack traces for registered calls according to the given policy.
+	 *
+	 * @param methodClass       Determines the class that will be used to store
+	 *                          methods. Allowed values are String.class or
+	 *                          Method.class
+	 * @param stackTraceCapture The policy for capturing stack traces of registered
+	 *                          calls
+	 */
+	protected AbstractCallsRegistry(Class<T> methodClass, StackTraceCapture stackTraceCapture) {
 		super();
+		this.stackTraceCapture = Objects.requireNonNull(stackTraceCapture);
 		if (methodClass == String.class || methodClass == Method.class) {
 			this.keyClass = methodClass;
 		} else {
@@ -52,7 +75,7 @@ abstract class AbstractCallsRegistry<T> implements Calls<T> {
 			@SuppressWarnings("unchecked")
 			T methodName = (T) TestUtils.getMethodName(2);
 			MethodCall<T> methodCall = new MethodCall<>(methodName, args);
-			addStackTraceToCalls(methodCall, Thread.currentThread().getStackTrace());
+			addCallToCalls(methodCall, FRAMES_TO_CALLER);
 		} else {
 			throw new UnsupportedOperationException(
 					"Please use an instance initialized with String.class as key class.");
@@ -62,12 +85,12 @@ abstract class AbstractCallsRegistry<T> implements Calls<T> {
 	public void registerCall(T method, Object... args) {
 		requireNonNull(args);
 		MethodCall<T> methodCall = new MethodCall<>(method, args);
-		addStackTraceToCalls(methodCall, Thread.currentThread().getStackTrace());
+		addCallToCalls(methodCall, FRAMES_TO_CALLER);
 	}
 
 	public void registerCall(MethodCall<T> methodCall) {
 		requireNonNull(methodCall.getArgs());
-		addStackTraceToCalls(methodCall, Thread.currentThread().getStackTrace());
+		addCallToCalls(methodCall, FRAMES_TO_CALLER);
 	}
 
 	protected void requireNonNull(Object[] args) {
@@ -75,7 +98,45 @@ abstract class AbstractCallsRegistry<T> implements Calls<T> {
 				"When a call is invoked without arguments, please use a zero-length args array (new Object[0]) instead of null.");
 	}
 
-	protected void addStackTraceToCalls(MethodCall<T> methodCall, StackTraceElement[] stackTrace) {
+	/**
+	 * Adds the method call to the registered calls, capturing the stack trace
+	 * according to the {@link StackTraceCapture} policy of this registry. This
+	 * method should be invoked directly from the method registering the call.
+	 *
+	 * @param methodCall   The method call to register
+	 * @param framesToSkip The number of frames to leave out of the stack trace,
+	 *                     counting from the method registering the call (1 means
+	 *                     the stack trace starts at the method that invoked the
+	 *                     registering method).
+	 */
+	protected void addCallToCalls(MethodCall<T> methodCall, int framesToSkip) {
+		addCallToCalls(methodCall, stackTraceCapture.capture(framesToSkip));
+	}
+
+	/**
+	 * Captures the stack trace according to the {@link StackTraceCapture} policy
+	 * of this registry, without registering a call. Together with
+	 * {@link #addCallToCalls(MethodCall, Supplier)}, this allows a call to be
+	 * registered later (or on another thread) with the stack trace of the thread
+	 * that invoked the method. This method should be invoked directly from the
+	 * method registering the call.
+	 *
+	 * @param framesToSkip The number of frames to leave out of the stack trace,
+	 *                     counting from the method registering the call.
+	 * @return A supplier that materializes the captured stack trace
+	 */
+	protected Supplier<StackTraceElement[]> captureStackTrace(int framesToSkip) {
+		return stackTraceCapture.capture(framesToSkip);
+	}
+
+	/**
+	 * Adds the method call with a previously captured stack trace to the
+	 * registered calls.
+	 *
+	 * @param methodCall The method call to register
+	 * @param stackTrace The stack trace, see {@link #captureStackTrace(int)}
+	 */
+	protected void addCallToCalls(MethodCall<T> methodCall, Supplier<StackTraceElement[]> stackTrace) {
 		List<MethodCallInformation> stackTraces = calls.get(methodCall);
 		if (stackTraces == null) {
 			stackTraces = new ArrayList<>();
@@ -85,8 +146,7 @@ abstract class AbstractCallsRegistry<T> implements Calls<T> {
 	}
 
 	protected MethodCall<T> getStoredExactMethodCall(MethodCall<T> methodCall) {
-		Set<MethodCall<T>> registeredMethodCalls = calls.keySet();
-		return CallsUtils.getStoredExactMethodCall(methodCall, registeredMethodCalls);
+		return indexedCalls.getStoredExactMethodCall(methodCall);
 	}
 
 	public boolean verifyNoMoreMethodInvocations() {
@@ -137,9 +197,9 @@ abstract class AbstractCallsRegistry<T> implements Calls<T> {
 					.append("] (" + TestUtils.getOrdinal(stackTraces.get(i).getMethodInvocationSequenceNo() + 1)
 							+ " invocation on this mock): ]")
 					.append(System.lineSeparator()).append(tracePrefix)
-					.append(Arrays.stream(stackTrace).skip(2)
-							.map(stackTraceElement -> "\t-> " + stackTraceElement.toString())
-							.collect(Collectors.joining(System.lineSeparator() + tracePrefix)))
+					.append(stackTrace.length == 0 ? "\t-> (no stack trace captured, " + stackTraceCapture + ")"
+							: Arrays.stream(stackTrace).map(stackTraceElement -> "\t-> " + stackTraceElement.toString())
+									.collect(Collectors.joining(System.lineSeparator() + tracePrefix)))
 					.append(System.lineSeparator());
 		}
 		return sb.toString();
@@ -150,9 +210,20 @@ abstract class AbstractCallsRegistry<T> implements Calls<T> {
 		sequentialCallNo = 0;
 	}
 
+	/*
+	 * Only the most recent registration of the method call is removed, since other
+	 * calls with the same arguments (e.g. from other threads) may have been
+	 * registered before.
+	 */
 	public void removeCall(MethodCall<T> methodCall) {
-		calls.remove(methodCall);
-		sequentialCallNo--;
+		List<MethodCallInformation> callInformation = calls.get(methodCall);
+		if (callInformation != null) {
+			callInformation.remove(callInformation.size() - 1);
+			if (callInformation.isEmpty()) {
+				calls.remove(methodCall);
+			}
+			sequentialCallNo--;
+		}
 	}
 
 }
@@ -80,11 +80,56 @@ public class CallsFactory {
 	 *         same type as {@code methodIdentifierClass}.
 	 */
 	public static <T> Calls<T> getCalls(CallType callType, Class<T> methodIdentifierClass) {
+		return getCalls(callType, methodIdentifierClass, StackTraceCapture.FULL);
+	}
+
+	/**
+	 * Factory method for creating a default Calls object that uses Method instances
+	 * to identify methods and captures stack traces of registered calls according
+	 * to the given policy.
+	 *
+	 * @param stackTraceCapture The policy for capturing stack traces of registered
+	 *                          calls, e.g. {@link StackTraceCapture#NONE}.
+	 * @return A Calls object that uses default mock verification.
+	 */
+	public static DefaultCalls<Method> getDefaultCalls(StackTraceCapture stackTraceCapture) {
+		return (DefaultCalls<Method>) getCalls(CallType.DEFAULT, Method.class, stackTraceCapture);
+	}
+
+	/**
+	 * Factory method for creating a strictly verifying Calls object that uses
+	 * Method instances to identify methods and captures stack traces of registered
+	 * calls according to the given policy.
+	 *
+	 * @param stackTraceCapture The policy for capturing stack traces of registered
+	 *                          calls, e.g. {@link StackTraceCapture#NONE}.
+	 * @return A Calls object that uses strict mock verification.
+	 */
+	public static StrictCalls<Method> getStrictCalls(StackTraceCapture stackTraceCapture) {
+		return (StrictCalls<Method>) getCalls(CallType.STRICT, Method.class, stackTraceCapture);
+	}
+
+	/**
+	 * Same as {@link #getCalls(CallType, Class)}, but the returned Calls object
+	 * captures the stack traces of registered calls according to the given policy
+	 * instead of capturing full stack traces.
+	 *
+	 * @param callType              one of {@link CallType#STRICT} or
+	 *                              {@link CallType#DEFAULT}
+	 * @param methodIdentifierClass The class to identify method parameters with.
+	 * @param stackTraceCapture     The policy for capturing stack traces of
+	 *                              registered calls, which are printed when a
+	 *                              verification fails.
+	 * @return A default or strictly verifying Calls object parameterized with the
+	 *         same type as {@code methodIdentifierClass}.
+	 */
+	public static <T> Calls<T> getCalls(CallType callType, Class<T> methodIdentifierClass,
+			StackTraceCapture stackTraceCapture) {
 		switch (callType) {
 		case STRICT:
-			return new StrictCallsRegistry<>(methodIdentifierClass);
+			return new StrictCallsRegistry<>(methodIdentifierClass, stackTraceCapture);
 		case DEFAULT:
-			return new CallsRegistry<>(methodIdentifierClass);
+			return new CallsRegistry<>(methodIdentifierClass, stackTraceCapture);
 		default:
 			throw new NotImplementedException("Unknown " + CallType.class.getSimpleName());
 		}
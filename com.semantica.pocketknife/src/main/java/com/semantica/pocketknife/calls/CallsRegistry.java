@@ -18,6 +18,10 @@ public class CallsRegistry<T> extends AbstractCallsRegistry<T> implements Defaul
 		super(methodClass);
 	}
 
+	protected CallsRegistry(Class<T> methodClass, StackTraceCapture stackTraceCapture) {
+		super(methodClass, stackTraceCapture);
+	}
+
 	@Override
 	public boolean verifyCall(int times, T method, Object... args) {
 		MethodCall<T> methodCall = new MethodCall<>(method, args);
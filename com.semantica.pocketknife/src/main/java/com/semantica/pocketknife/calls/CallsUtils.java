@@ -1,7 +1,7 @@
 package com.semantica.pocketknife.calls;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -26,6 +26,22 @@ public class CallsUtils {
 		}
 	}
 
+	/**
+	 * Checks whether any of the given arguments is a matching argument, i.e. a
+	 * {@link Matcher} or a {@link Predicate}.
+	 *
+	 * @param args The arguments
+	 * @return True if at least one argument is a matching argument
+	 */
+	public static boolean containsMatchingArguments(Object[] args) {
+		for (Object arg : args) {
+			if (arg instanceof Matcher || arg instanceof Predicate) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public static <T> boolean match(MethodCall<T> withExactArguments, MethodCall<T> withMatchingArguments) {
 		boolean matches = true;
 		for (int i = 0; i < withMatchingArguments.getArgs().length; i++) {
@@ -38,17 +54,33 @@ public class CallsUtils {
 				Predicate<?> predicate = (Predicate<?>) queryArg;
 				matches &= predicateMatches(predicate, subjectArg);
 			} else {
-				if (subjectArg != null && queryArg != null && subjectArg.getClass().isArray()
-						&& queryArg.getClass().isArray()) {
-					matches &= Arrays.deepEquals((Object[]) queryArg, (Object[]) subjectArg);
-				} else {
-					matches &= queryArg == null ? queryArg == subjectArg : queryArg.equals(subjectArg);
-				}
+				matches &= Objects.deepEquals(queryArg, subjectArg);
 			}
 		}
 		return matches;
 	}
 
+	/**
+	 * Compiles a (matching) argument into a predicate that tests an exact
+	 * argument in the same way as {@link #match(MethodCall, MethodCall)} does, so
+	 * the type of matching argument only needs to be determined once.
+	 *
+	 * @param matchingArgument A {@link Matcher}, {@link Predicate} or exact value
+	 * @return The predicate testing exact arguments
+	 */
+	public static Predicate<Object> toArgumentPredicate(Object matchingArgument) {
+		if (matchingArgument instanceof Matcher) {
+			Matcher<?> matcher = (Matcher<?>) matchingArgument;
+			return matcher::matches;
+		} else if (matchingArgument instanceof Predicate) {
+			@SuppressWarnings("unchecked")
+			Predicate<Object> predicate = (Predicate<Object>) matchingArgument;
+			return predicate;
+		} else {
+			return subjectArg -> Objects.deepEquals(matchingArgument, subjectArg);
+		}
+	}
+
 	private static <T> boolean predicateMatches(Predicate<?> predicate, T subject) {
 		@SuppressWarnings("unchecked")
 		Predicate<T> applicablePredicate = (Predicate<T>) predicate;
@@ -1,7 +1,7 @@
 package com.semantica.pocketknife.calls;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+import java.util.Arrays;
+
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 
 /**
@@ -17,6 +17,7 @@ public class MethodCall<T> {
 
 	private final T method;
 	private final Object[] args;
+	private int hash;
 
 	public MethodCall(T method, Object... args) {
 		super();
@@ -37,14 +38,52 @@ public class MethodCall<T> {
 		return ReflectionToStringBuilder.toString(this);
 	}
 
+	/**
+	 * Computes the hash code from the method and the (deeply hashed) arguments,
+	 * consistent with {@link #equals(Object)}. Since method calls are immutable,
+	 * the hash code is computed once and cached. Arguments should therefore not be
+	 * modified after construction.
+	 */
 	@Override
 	public int hashCode() {
-		return HashCodeBuilder.reflectionHashCode(this);
+		int result = hash;
+		if (result == 0) {
+			final int prime = 31;
+			result = 1;
+			result = prime * result + ((method == null) ? 0 : method.hashCode());
+			result = prime * result + Arrays.deepHashCode(args);
+			hash = result;
+		}
+		return result;
 	}
 
+	/**
+	 * Method calls are equal when their methods are equal and their arguments are
+	 * deeply equal (see {@link Arrays#deepEquals(Object[], Object[])}).
+	 */
 	@Override
-	public boolean equals(Object other) {
-		return EqualsBuilder.reflectionEquals(this, other);
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		MethodCall<?> other = (MethodCall<?>) obj;
+		if (method == null) {
+			if (other.method != null) {
+				return false;
+			}
+		} else if (!method.equals(other.method)) {
+			return false;
+		}
+		if (hash != 0 && other.hash != 0 && hash != other.hash) {
+			return false;
+		}
+		return Arrays.deepEquals(args, other.args);
 	}
 
 }
@@ -0,0 +1,131 @@
+package com.semantica.pocketknife.calls;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map of registered method calls to their call information that keeps an index
+ * of the registered method calls by method and argument count. Queries without
+ * matching arguments are resolved with a single hash lookup, queries with
+ * matching arguments only scan the registered method calls for the same method
+ * with the same number of arguments.
+ *
+ * The map can only be modified via {@link #put(MethodCall, List)},
+ * {@link #remove(Object)} and {@link #clear()}, so that the index always
+ * reflects the registered method calls. Method calls are iterated in the order
+ * in which they were first registered.
+ *
+ * @author A. Haanstra
+ *
+ * @param <T>
+ */
+class MethodCallIndex<T> extends AbstractMap<MethodCall<T>, List<MethodCallInformation>> {
+
+	private final Map<MethodCall<T>, List<MethodCallInformation>> calls = new LinkedHashMap<>();
+	private final Map<T, Map<Integer, Set<MethodCall<T>>>> methodCallsByMethodAndArgCount = new HashMap<>();
+
+	@Override
+	public List<MethodCallInformation> get(Object methodCall) {
+		return calls.get(methodCall);
+	}
+
+	@Override
+	public boolean containsKey(Object methodCall) {
+		return calls.containsKey(methodCall);
+	}
+
+	@Override
+	public int size() {
+		return calls.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return calls.isEmpty();
+	}
+
+	@Override
+	public List<MethodCallInformation> put(MethodCall<T> methodCall, List<MethodCallInformation> callInformation) {
+		List<MethodCallInformation> previousCallInformation = calls.put(methodCall, callInformation);
+		if (previousCallInformation == null) {
+			methodCallsByMethodAndArgCount.computeIfAbsent(methodCall.getMethod(), method -> new HashMap<>())
+					.computeIfAbsent(methodCall.getArgs().length, argCount -> new LinkedHashSet<>()).add(methodCall);
+		}
+		return previousCallInformation;
+	}
+
+	@Override
+	public List<MethodCallInformation> remove(Object methodCall) {
+		List<MethodCallInformation> removedCallInformation = calls.remove(methodCall);
+		if (removedCallInformation != null) {
+			MethodCall<?> removedMethodCall = (MethodCall<?>) methodCall;
+			Map<Integer, Set<MethodCall<T>>> methodCallsByArgCount = methodCallsByMethodAndArgCount
+					.get(removedMethodCall.getMethod());
+			Set<MethodCall<T>> methodCalls = methodCallsByArgCount.get(removedMethodCall.getArgs().length);
+			methodCalls.remove(removedMethodCall);
+			if (methodCalls.isEmpty()) {
+				methodCallsByArgCount.remove(removedMethodCall.getArgs().length);
+				if (methodCallsByArgCount.isEmpty()) {
+					methodCallsByMethodAndArgCount.remove(removedMethodCall.getMethod());
+				}
+			}
+		}
+		return removedCallInformation;
+	}
+
+	@Override
+	public void clear() {
+		calls.clear();
+		methodCallsByMethodAndArgCount.clear();
+	}
+
+	@Override
+	public Set<Entry<MethodCall<T>, List<MethodCallInformation>>> entrySet() {
+		return Collections.unmodifiableMap(calls).entrySet();
+	}
+
+	/**
+	 * Returns the registered method calls for the given method with the given
+	 * number of arguments.
+	 *
+	 * @param method   The method
+	 * @param argCount The number of arguments
+	 * @return The registered method calls, or an empty set if there are none
+	 */
+	Set<MethodCall<T>> getMethodCalls(T method, int argCount) {
+		Map<Integer, Set<MethodCall<T>>> methodCallsByArgCount = methodCallsByMethodAndArgCount.get(method);
+		if (methodCallsByArgCount == null) {
+			return Collections.emptySet();
+		}
+		Set<MethodCall<T>> methodCalls = methodCallsByArgCount.get(argCount);
+		return methodCalls == null ? Collections.emptySet() : Collections.unmodifiableSet(methodCalls);
+	}
+
+	/**
+	 * Finds the registered method call matching the given query. A query without
+	 * matching arguments ({@link org.hamcrest.Matcher} or
+	 * {@link java.util.function.Predicate}) is looked up directly, other queries
+	 * are matched against the registered method calls for the same method and
+	 * number of arguments.
+	 *
+	 * @param queryMethodCall The method call to look up
+	 * @return The registered method call, or null if none was found
+	 * @throws IllegalArgumentException if more than one registered method call
+	 *                                  matches the query
+	 */
+	MethodCall<T> getStoredExactMethodCall(MethodCall<T> queryMethodCall) {
+		if (!CallsUtils.containsMatchingArguments(queryMethodCall.getArgs())) {
+			return calls.containsKey(queryMethodCall) ? queryMethodCall : null;
+		} else {
+			return CallsUtils.getStoredExactMethodCall(queryMethodCall,
+					getMethodCalls(queryMethodCall.getMethod(), queryMethodCall.getArgs().length));
+		}
+	}
+
+}
@@ -1,5 +1,7 @@
 package com.semantica.pocketknife.calls;
 
+import java.util.function.Supplier;
+
 /**
  * Data class storing the unqiue information for a method call. Stores the
  * caller information (stack trace) and sequential invocation number for this
@@ -10,16 +12,27 @@ package com.semantica.pocketknife.calls;
  */
 class MethodCallInformation {
 
+	private Supplier<StackTraceElement[]> stackTraceSupplier;
 	private StackTraceElement[] stackTraceElements;
 	private int methodInvocationSequenceNo;
 
-	public MethodCallInformation(StackTraceElement[] stackTraceElements, int methodInvocationSequenceNo) {
+	public MethodCallInformation(Supplier<StackTraceElement[]> stackTraceSupplier, int methodInvocationSequenceNo) {
 		super();
-		this.stackTraceElements = stackTraceElements;
+		this.stackTraceSupplier = stackTraceSupplier;
 		this.methodInvocationSequenceNo = methodInvocationSequenceNo;
 	}
 
+	/**
+	 * Returns the stack trace captured when the call was registered. The stack
+	 * trace is materialized on first request.
+	 *
+	 * @return The captured stack trace (empty if none was captured)
+	 */
 	public StackTraceElement[] getStackTraceElements() {
+		if (stackTraceElements == null) {
+			stackTraceElements = stackTraceSupplier.get();
+			stackTraceSupplier = null;
+		}
 		return stackTraceElements;
 	}
 
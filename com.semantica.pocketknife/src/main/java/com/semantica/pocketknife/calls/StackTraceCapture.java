@@ -0,0 +1,114 @@
+package com.semantica.pocketknife.calls;
+
+import java.lang.StackWalker.StackFrame;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.NotImplementedException;
+
+/**
+ * Policy that determines how much of the stack trace is captured when a call is
+ * registered in a {@link Calls} registry. The stack traces are only printed
+ * when a verification fails, but capturing them is the most expensive part of
+ * registering a call.
+ *
+ * <ul>
+ * <li>{@link #NONE}: no stack trace is captured.</li>
+ * <li>{@link #CALLER_FRAME_ONLY} / {@link #callerFramesOnly(int)}: only the
+ * frame(s) of the caller of the registered method are captured, walking the
+ * stack no further than needed.</li>
+ * <li>{@link #FULL}: the whole stack trace is captured (the default).</li>
+ * </ul>
+ *
+ * Where possible, stack traces are materialized lazily, i.e. only when they are
+ * printed.
+ *
+ * @author A. Haanstra
+ *
+ */
+public class StackTraceCapture {
+
+	public enum Mode {
+		NONE, CALLER_FRAME_ONLY, FULL;
+	}
+
+	private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+	private static final StackTraceElement[] NO_STACK_TRACE = new StackTraceElement[0];
+	private static final Supplier<StackTraceElement[]> NOT_CAPTURED = () -> NO_STACK_TRACE;
+	/*
+	 * Number of frames between the frame where the stack trace is captured (in
+	 * this class) and the frame of the method that registers the call.
+	 */
+	private static final int FRAMES_TO_REGISTERING_METHOD = 2;
+
+	public static final StackTraceCapture NONE = new StackTraceCapture(Mode.NONE, 0);
+	public static final StackTraceCapture CALLER_FRAME_ONLY = new StackTraceCapture(Mode.CALLER_FRAME_ONLY, 1);
+	public static final StackTraceCapture FULL = new StackTraceCapture(Mode.FULL, Integer.MAX_VALUE);
+
+	private final Mode mode;
+	private final int frames;
+
+	protected StackTraceCapture(Mode mode, int frames) {
+		super();
+		this.mode = mode;
+		this.frames = frames;
+	}
+
+	/**
+	 * Creates a policy that only captures the given number of frames, starting at
+	 * the caller of the registered method.
+	 *
+	 * @param frames The maximum number of frames to capture (at least 1)
+	 * @return The stack trace capture policy
+	 */
+	public static StackTraceCapture callerFramesOnly(int frames) {
+		if (frames < 1) {
+			throw new IllegalArgumentException("At least one frame should be captured, use NONE otherwise.");
+		}
+		return new StackTraceCapture(Mode.CALLER_FRAME_ONLY, frames);
+	}
+
+	public Mode getMode() {
+		return mode;
+	}
+
+	public int getFrames() {
+		return frames;
+	}
+
+	/**
+	 * Captures the stack trace according to this policy. This method should be
+	 * invoked directly by the method that is invoked by the method that registers
+	 * the call (see {@link AbstractCallsRegistry#addCallToCalls(MethodCall, int)}).
+	 *
+	 * @param framesToSkip The number of frames to skip, counting from the method
+	 *                     that registers the call.
+	 * @return A supplier that materializes the captured stack trace.
+	 */
+	Supplier<StackTraceElement[]> capture(int framesToSkip) {
+		switch (mode) {
+		case NONE:
+			return NOT_CAPTURED;
+		case CALLER_FRAME_ONLY:
+			List<StackFrame> stackFrames = STACK_WALKER.walk(stream -> stream
+					.skip(FRAMES_TO_REGISTERING_METHOD + framesToSkip).limit(frames).collect(Collectors.toList()));
+			return () -> stackFrames.stream().map(StackFrame::toStackTraceElement).toArray(StackTraceElement[]::new);
+		case FULL:
+			// The stack trace is filled in here, but only converted to StackTraceElements
+			// when requested.
+			Throwable stackTraceHolder = new Throwable();
+			return () -> Arrays.stream(stackTraceHolder.getStackTrace()).skip(FRAMES_TO_REGISTERING_METHOD + framesToSkip)
+					.toArray(StackTraceElement[]::new);
+		default:
+			throw new NotImplementedException(String.format("Unknown %s: %s.", Mode.class.getSimpleName(), mode));
+		}
+	}
+
+	@Override
+	public String toString() {
+		return mode == Mode.CALLER_FRAME_ONLY ? mode + "(" + frames + ")" : mode.toString();
+	}
+
+}
@@ -22,6 +22,10 @@ public class StrictCallsRegistry<T> extends AbstractCallsRegistry<T> implements
 		super(methodClass);
 	}
 
+	protected StrictCallsRegistry(Class<T> methodClass, StackTraceCapture stackTraceCapture) {
+		super(methodClass, stackTraceCapture);
+	}
+
 	@Override
 	public boolean verifyAndRemoveCall(T method, Object... args) {
 		MethodCall<T> methodCall = new MethodCall<>(method, args);
@@ -0,0 +1,66 @@
+package com.semantica.pocketknife.methodrecorder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Allocates the identifier values of one {@link MethodRecorder}. For each
+ * numeric primitive and wrapper type (and {@code char}/{@link Character}), the
+ * first identifier value is random (see {@link RandomIdentifierValues}) and
+ * every next identifier value is its successor. Identifier values of the same
+ * type therefore never equal each other, until the range of the type wraps
+ * around (after 256 {@code byte} identifiers). For reference types, every
+ * identifier value already is a new (identifying) instance. Booleans cannot be
+ * made unique and are always {@code false}.
+ *
+ * A primitive type and its wrapper type share their sequence, because their
+ * identifier values are compared as boxed values.
+ *
+ * @author A. Haanstra
+ *
+ */
+class IdentifierSequence {
+
+	// key: the wrapper type, value: the last allocated identifier value
+	private final Map<Class<?>, Object> lastIdentifierValues = new HashMap<>();
+
+	@SuppressWarnings("unchecked")
+	<S> S next(Class<S> clazz) {
+		Class<?> wrapperClass = ClassUtils.primitiveToWrapper(clazz);
+		if (wrapperClass == Boolean.class || !ClassUtils.isPrimitiveWrapper(wrapperClass)) {
+			return RandomIdentifierValues.identifierValue(clazz);
+		}
+		Object lastIdentifierValue = lastIdentifierValues.get(wrapperClass);
+		Object identifierValue = lastIdentifierValue == null ? RandomIdentifierValues.identifierValue(clazz)
+				: successor(lastIdentifierValue);
+		lastIdentifierValues.put(wrapperClass, identifierValue);
+		return (S) identifierValue;
+	}
+
+	void reset() {
+		lastIdentifierValues.clear();
+	}
+
+	private static Object successor(Object identifierValue) {
+		if (identifierValue instanceof Byte) {
+			return (byte) ((Byte) identifierValue + 1);
+		} else if (identifierValue instanceof Short) {
+			return (short) ((Short) identifierValue + 1);
+		} else if (identifierValue instanceof Character) {
+			return (char) ((Character) identifierValue + 1);
+		} else if (identifierValue instanceof Integer) {
+			return (Integer) identifierValue + 1;
+		} else if (identifierValue instanceof Long) {
+			return (Long) identifierValue + 1;
+		} else if (identifierValue instanceof Float) {
+			return Math.nextUp((Float) identifierValue);
+		} else if (identifierValue instanceof Double) {
+			return Math.nextUp((Double) identifierValue);
+		} else {
+			throw new IllegalArgumentException("No successor defined for identifier value " + identifierValue + ".");
+		}
+	}
+
+}
@@ -1,10 +1,9 @@
 package com.semantica.pocketknife.methodrecorder;
 
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.hamcrest.Matcher;
 
@@ -64,11 +63,27 @@ class MatchingArgument {
 
 	@Override
 	public int hashCode() {
-		return HashCodeBuilder.reflectionHashCode(this);
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + captureNumber;
+		result = prime * result + Objects.hashCode(matcher);
+		result = prime * result + Objects.hashCode(argumentNumber);
+		return result;
 	}
 
 	@Override
-	public boolean equals(Object other) {
-		return EqualsBuilder.reflectionEquals(this, other);
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		MatchingArgument other = (MatchingArgument) obj;
+		return captureNumber == other.captureNumber && Objects.equals(matcher, other.matcher)
+				&& Objects.equals(argumentNumber, other.argumentNumber);
 	}
 }
@@ -1,11 +1,15 @@
 package com.semantica.pocketknife.methodrecorder;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.function.Predicate;
 
@@ -19,12 +23,14 @@ import com.semantica.pocketknife.methodrecorder.dynamicproxies.ClassLoadingStrat
 import com.semantica.pocketknife.methodrecorder.dynamicproxies.Dummy;
 
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.TypeCache;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.implementation.MethodDelegation;
 import net.bytebuddy.implementation.bind.annotation.AllArguments;
 import net.bytebuddy.implementation.bind.annotation.Origin;
 import net.bytebuddy.implementation.bind.annotation.RuntimeType;
-import net.bytebuddy.implementation.bind.annotation.Super;
 import net.bytebuddy.implementation.bind.annotation.This;
 import net.bytebuddy.matcher.ElementMatchers;
 
@@ -56,10 +62,31 @@ public class MethodRecorder<T> {
 
 	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(MethodRecorder.class);
 	private static final Objenesis OBJENESIS = new ObjenesisStd();
+	static final String PROXY_TYPE_IDENTIFIER = "MethodRecorderProxy";
+	private static final String INTERCEPTOR_FIELD_NAME = "methodRecorderInterceptor";
+	private static final TypeCache<Class<?>> PROXY_CLASS_CACHE = new TypeCache<>(TypeCache.Sort.SOFT);
+	private static final ClassValue<Field> INTERCEPTOR_FIELDS = new ClassValue<>() {
+		@Override
+		protected Field computeValue(Class<?> proxyClass) {
+			try {
+				return proxyClass.getField(INTERCEPTOR_FIELD_NAME);
+			} catch (NoSuchFieldException | SecurityException e) {
+				throw new FatalTestException("Proxy class " + proxyClass + " does not declare an interceptor field.", e);
+			}
+		}
+	};
+	private static final ClassValue<Set<Method>> TO_STRING_HASH_CODE_EQUALS_METHODS = new ClassValue<>() {
+		@Override
+		protected Set<Method> computeValue(Class<?> recordedClass) {
+			return getToStringHashCodeEqualsMethods(recordedClass);
+		}
+	};
 	private final Class<T> recordedClass;
+	private final Set<Method> objectMethods;
 	private final Class<? extends T> proxyClass;
 	private final T proxy;
 	private final Map<Class<?>, Map<Object, Queue<MatchingArgument>>> matchers = new HashMap<>();
+	private final IdentifierSequence identifierSequence = new IdentifierSequence();
 	private Method method;
 	private MethodCall<Method> methodCall;
 	private int captureNumber = 0;
@@ -69,22 +96,19 @@ public class MethodRecorder<T> {
 	 * Constructs a MethodRecorder instance that can record method invocations for
 	 * the {@code recordedClass} on its proxy instance.
 	 *
+	 * The proxy class is generated once per recorded class (and class loader) and
+	 * shared by all method recorders of that class. Each proxy instance delegates
+	 * to the {@link Interceptor} of its own method recorder via an instance field
+	 * that is set right after instantiation.
+	 *
 	 * @param recordedClass
 	 */
 	@SuppressWarnings("unchecked")
 	public MethodRecorder(Class<T> recordedClass) {
 		super();
 		this.recordedClass = recordedClass;
-		ClassLoadingStrategyFinder<Dummy> strategyFinder = new ClassLoadingStrategyFinder<>(Dummy.class);
-		ClassLoadingStrategy<ClassLoader> strategy = strategyFinder
-				.getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage();
-		this.proxyClass = new ByteBuddy().subclass(recordedClass)
-				.name(strategyFinder
-						.getTargetClassNameUniqueForTargetClassMatchingStrategy(recordedClass, "MethodRecorderProxy"))
-				.method(ElementMatchers.any())
-				.intercept(MethodDelegation.withDefaultConfiguration()
-						.filter(ElementMatchers.not(ElementMatchers.isDeclaredBy(Object.class))).to(new Interceptor()))
-				.make().load(strategyFinder.getClassLoader(), strategy).getLoaded();
+		this.objectMethods = TO_STRING_HASH_CODE_EQUALS_METHODS.get(recordedClass);
+		this.proxyClass = (Class<? extends T>) getOrCreateProxyClass(recordedClass);
 
 //		this.proxyClass = new ByteBuddy().subclass(recordedClass)
 //				.name(strategyFinder.getTargetClassNameUniqueForTargetClassMatchingStrategy(recordedClass,
@@ -93,6 +117,37 @@ public class MethodRecorder<T> {
 //				.load(strategyFinder.getClassLoader(), strategy).getLoaded();
 
 		this.proxy = OBJENESIS.newInstance(proxyClass);
+		try {
+			INTERCEPTOR_FIELDS.get(proxyClass).set(proxy, new Interceptor());
+		} catch (IllegalArgumentException | IllegalAccessException e) {
+			throw new FatalTestException("Unable to route interceptions of proxy to this method recorder.", e);
+		}
+	}
+
+	/*
+	 * Proxy classes generated at build time (see ProxyClassGenerator) are used when
+	 * they are on the class path, otherwise the proxy class is generated now.
+	 */
+	private static Class<?> getOrCreateProxyClass(Class<?> recordedClass) {
+		ClassLoadingStrategyFinder<Dummy> strategyFinder = new ClassLoadingStrategyFinder<>(Dummy.class);
+		return PROXY_CLASS_CACHE.findOrInsert(strategyFinder.getClassLoader(), recordedClass,
+				() -> strategyFinder.findPregeneratedClass(recordedClass, PROXY_TYPE_IDENTIFIER).orElseGet(() -> {
+					ClassLoadingStrategy<ClassLoader> strategy = strategyFinder
+							.getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage();
+					return makeProxyClass(recordedClass, strategyFinder
+							.getTargetClassNameUniqueForTargetClassMatchingStrategy(recordedClass, PROXY_TYPE_IDENTIFIER))
+									.load(strategyFinder.getClassLoader(), strategy).getLoaded();
+				}), PROXY_CLASS_CACHE);
+	}
+
+	static DynamicType.Unloaded<?> makeProxyClass(Class<?> recordedClass, String name) {
+		return new ByteBuddy().subclass(recordedClass).name(name)
+				.defineField(INTERCEPTOR_FIELD_NAME, MethodRecorder.Interceptor.class, Visibility.PUBLIC)
+				.method(ElementMatchers.any())
+				.intercept(MethodDelegation.withDefaultConfiguration()
+						.filter(ElementMatchers.not(ElementMatchers.isDeclaredBy(Object.class)))
+						.toField(INTERCEPTOR_FIELD_NAME))
+				.make();
 	}
 
 	/**
@@ -130,50 +185,86 @@ public class MethodRecorder<T> {
 		 * simply registers the method call and returns a default value for the return
 		 * type.
 		 *
+		 * When no matchers are stored (the common case), the method call is recorded
+		 * on a fast path that skips substituting arguments with matchers and checking
+		 * for ambiguously defined matchers. The fast path saves this matcher handling
+		 * (and no super-call proxy is bound to the interceptor), but the recorded
+		 * {@link MethodCall} is still allocated for every invocation.
+		 *
+		 * When matchers are stored, the (costly) check for ambiguously defined
+		 * matchers is only done when, for some identifier type, more arguments equal
+		 * an identifier value than there are matchers stored for that type, because
+		 * identifier values of the same type are unique (see
+		 * {@link IdentifierSequence}) unless they are booleans.
+		 *
 		 * @param method The invoked method
 		 * @param self   This proxy
 		 * @param args   The arguments with which the method was invoked
-		 * @param zuper  Can be used for any callbacks to the original method on an
-		 *               instance of the proxy's superclass
 		 * @return Return value for the intercepted method
 		 * @throws Exception
 		 */
 		@RuntimeType
-		public Object intercept(@Origin Method method, @This Object self, @AllArguments Object[] args,
-				@Super(strategy = Super.Instantiation.UNSAFE) Object zuper) throws Exception {
-			Optional<Object> toStringHashCodeEqualsReturnValue = toStringHashCodeEquals(self, method, args);
-			if (toStringHashCodeEqualsReturnValue.isPresent()) {
-				return toStringHashCodeEqualsReturnValue.get();
+		public Object intercept(@Origin Method method, @This Object self, @AllArguments Object[] args)
+				throws Exception {
+			if (objectMethods.contains(method)) {
+				return toStringHashCodeEquals(self, method, args);
 			}
-			AmbiguousArgumentsUtil.checkForIdentifierAmbiguity(args, matchers);
-			MethodRecorder.this.method = method;
-			MethodRecorder.this.methodCall = new MethodCall<>(method, substituteWithMatchingArgs(args));
-			MethodRecorder.this.captureNumber = 0;
-			MethodRecorder.this.captureProcessedNumber = 0;
-			if (!MethodRecorder.this.matchers.isEmpty()) {
-				throw new IllegalStateException(
-						"Matchers not empty after substituting args with matchers for constructing new MethodCall.");
+			if (matchers.isEmpty()) {
+				recordMethodCall(method, args);
+			} else {
+				if (hasMoreIdentifierValuesThanMatchersForAnyType(args)) {
+					AmbiguousArgumentsUtil.checkForIdentifierAmbiguity(args, matchers);
+				}
+				recordMethodCall(method, substituteWithMatchingArgs(args));
+				if (!MethodRecorder.this.matchers.isEmpty()) {
+					throw new IllegalStateException(
+							"Matchers not empty after substituting args with matchers for constructing new MethodCall.");
+				}
 			}
 			Object defaultValue = DefaultValues.defaultValue(method.getReturnType());
 			log.trace("Returning {} for method {} in interceptor.", defaultValue, method);
 			return defaultValue;
 		}
 
-		private Optional<Object> toStringHashCodeEquals(Object proxy, Method method, Object[] args) {
-			if (method.getName().equals("toString") && args.length == 0) {
-				return Optional.of("Proxy recording method invocations on: " + recordedClass + ", identity hashCode: "
-						+ System.identityHashCode(proxy));
-			} else if (method.getName().equals("hashCode") && args.length == 0) {
-				return Optional.of(System.identityHashCode(proxy));
-			} else if (method.getName().equals("equals") && args.length == 1
-					&& method.getParameterTypes()[0].equals(Object.class)) {
-				return Optional.of(System.identityHashCode(proxy) == System.identityHashCode(args[0]));
-			} else {
-				return Optional.empty();
+		private void recordMethodCall(Method method, Object[] args) {
+			MethodRecorder.this.method = method;
+			MethodRecorder.this.methodCall = new MethodCall<>(method, args);
+			MethodRecorder.this.captureNumber = 0;
+			MethodRecorder.this.captureProcessedNumber = 0;
+		}
+
+		private Object toStringHashCodeEquals(Object proxy, Method method, Object[] args) {
+			switch (method.getName()) {
+			case "toString":
+				return "Proxy recording method invocations on: " + recordedClass + ", identity hashCode: "
+						+ System.identityHashCode(proxy);
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default: // equals
+				return System.identityHashCode(proxy) == System.identityHashCode(args[0]);
 			}
 		}
 	}
 
+	private static Set<Method> getToStringHashCodeEqualsMethods(Class<?> recordedClass) {
+		Set<Method> toStringHashCodeEqualsMethods = new HashSet<>();
+		for (Class<?> clazz : new Class<?>[] { Object.class, recordedClass }) {
+			addMethodIfPresent(toStringHashCodeEqualsMethods, clazz, "toString");
+			addMethodIfPresent(toStringHashCodeEqualsMethods, clazz, "hashCode");
+			addMethodIfPresent(toStringHashCodeEqualsMethods, clazz, "equals", Object.class);
+		}
+		return Collections.unmodifiableSet(toStringHashCodeEqualsMethods);
+	}
+
+	private static void addMethodIfPresent(Set<Method> methods, Class<?> clazz, String name,
+			Class<?>... parameterTypes) {
+		try {
+			methods.add(clazz.getMethod(name, parameterTypes));
+		} catch (NoSuchMethodException e) {
+			// Interfaces only have these methods when they redeclare them.
+		}
+	}
+
 	/**
 	 * Resets all internal state. For typical use (recording multiple methods one
 	 * after the other), it is not necessary to invoke this method in between
@@ -183,18 +274,43 @@ public class MethodRecorder<T> {
 		this.method = null;
 		this.methodCall = null;
 		this.matchers.clear();
+		this.identifierSequence.reset();
 		this.captureNumber = 0;
 		this.captureProcessedNumber = 0;
 	}
 
+	/*
+	 * Compares the counts per identifier type, like
+	 * AmbiguousArgumentsUtil.checkForIdentifierAmbiguity(..), so that surplus
+	 * identifier values of one type are not hidden by matchers of another type.
+	 */
+	private boolean hasMoreIdentifierValuesThanMatchersForAnyType(Object[] args) {
+		for (Map<Object, Queue<MatchingArgument>> matchersForClass : matchers.values()) {
+			int numberOfIdentifierValues = 0;
+			for (Object argument : args) {
+				if (argument != null && matchersForClass.containsKey(argument)) {
+					numberOfIdentifierValues++;
+				}
+			}
+			int numberOfMatchers = 0;
+			for (Queue<MatchingArgument> matchersForIdentifierValue : matchersForClass.values()) {
+				numberOfMatchers += matchersForIdentifierValue.size();
+			}
+			if (numberOfIdentifierValues > numberOfMatchers) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private Object[] substituteWithMatchingArgs(Object[] args) {
 		for (int i = 0; i < args.length; i++) {
-			args[i] = getOptionalMatchingValue(args[i], i).orElse(args[i]);
+			args[i] = getMatchingValueOrArgument(args[i], i);
 		}
 		return args;
 	}
 
-	private Optional<Object> getOptionalMatchingValue(Object argument, int argumentNumber) {
+	private Object getMatchingValueOrArgument(Object argument, int argumentNumber) {
 		if (argument != null) {
 			Map<Object, Queue<MatchingArgument>> matchersForClass = matchers.get(argument.getClass());
 			if (matchersForClass != null) {
@@ -212,12 +328,12 @@ public class MethodRecorder<T> {
 								matchers.remove(argument.getClass());
 							}
 						}
-						return Optional.of(matcher);
+						return matcher;
 					}
 				}
 			}
 		}
-		return Optional.empty();
+		return argument;
 	}
 
 	/**
@@ -819,7 +935,7 @@ public class MethodRecorder<T> {
 
 	protected <S> S storeMatcherAndCreateIdInstanceOfTypeArgumentAsKeyToMatcher(Object matcher, Class<S> clazz,
 			Optional<Integer> argumentNumber) {
-		S identifierValue = RandomIdentifierValues.identifierValue(clazz);
+		S identifierValue = identifierSequence.next(clazz);
 		return storeMatcherWithIdInstanceOfTypeArgumentAsKey(matcher, clazz, argumentNumber, identifierValue);
 	}
 
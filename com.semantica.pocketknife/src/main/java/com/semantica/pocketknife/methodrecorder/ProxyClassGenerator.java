@@ -0,0 +1,88 @@
+package com.semantica.pocketknife.methodrecorder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.semantica.pocketknife.methodrecorder.dynamicproxies.ClassLoadingStrategyFinder;
+import com.semantica.pocketknife.methodrecorder.dynamicproxies.Dummy;
+
+/**
+ * Generates the proxy classes of {@link MethodRecorder} (which are also used by
+ * the mocks) and {@link RandomIdentifierValues} for declared types at build
+ * time, and writes them as class files. When these class files are on the class
+ * path at test runtime, the proxies are loaded from there instead of being
+ * generated. Proxy classes for types that were not declared are still generated
+ * at runtime.
+ *
+ * The generator can be run in the {@code process-test-classes} phase, e.g. with
+ * the exec-maven-plugin ({@code java} goal, {@code classpathScope} test), with
+ * the output directory as first argument followed by the fully qualified names
+ * of the types to generate proxies for:
+ *
+ * <pre>
+ * <code>
+ * java com.semantica.pocketknife.methodrecorder.ProxyClassGenerator target/test-classes com.example.MyService com.example.MyDto
+ * </code>
+ * </pre>
+ *
+ * Since pre-generated proxy classes are defined in a package of this module,
+ * they can only be used when this module is on the class path.
+ *
+ * @author A. Haanstra
+ *
+ */
+public class ProxyClassGenerator {
+
+	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(ProxyClassGenerator.class);
+
+	private ProxyClassGenerator() {
+		super();
+	}
+
+	public static void main(String[] args) throws ClassNotFoundException, IOException {
+		if (args.length < 1) {
+			throw new IllegalArgumentException("Usage: ProxyClassGenerator <output directory> <type>...");
+		}
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		List<Class<?>> types = new ArrayList<>();
+		for (int i = 1; i < args.length; i++) {
+			types.add(Class.forName(args[i], false, classLoader));
+		}
+		generate(Paths.get(args[0]), types);
+	}
+
+	/**
+	 * Generates the proxy classes for the given types and writes them to the output
+	 * directory, in the directory structure of their package.
+	 *
+	 * @param outputDirectory The root directory of the class files, e.g. the test
+	 *                        classes directory
+	 * @param types           The types to generate proxy classes for
+	 * @throws IOException If a class file cannot be written
+	 */
+	public static void generate(Path outputDirectory, Collection<Class<?>> types) throws IOException {
+		ClassLoadingStrategyFinder<Dummy> strategyFinder = new ClassLoadingStrategyFinder<>(Dummy.class);
+		for (Class<?> type : types) {
+			if (RandomIdentifierValues.isProxied(type)) {
+				MethodRecorder
+						.makeProxyClass(type,
+								strategyFinder.getPregeneratedTargetClassName(type, MethodRecorder.PROXY_TYPE_IDENTIFIER))
+						.saveIn(outputDirectory.toFile());
+				RandomIdentifierValues
+						.makeProxyClass(type,
+								strategyFinder.getPregeneratedTargetClassName(type,
+										RandomIdentifierValues.PROXY_TYPE_IDENTIFIER))
+						.saveIn(outputDirectory.toFile());
+				log.info("Generated proxy classes for {} in {}.", type.getName(), outputDirectory);
+			} else {
+				log.warn("Skipping {}: no proxy classes are generated for primitive, wrapper, array and final types.",
+						type.getName());
+			}
+		}
+	}
+
+}
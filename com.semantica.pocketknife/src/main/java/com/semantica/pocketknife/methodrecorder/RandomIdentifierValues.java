@@ -1,13 +1,23 @@
 package com.semantica.pocketknife.methodrecorder;
 
-import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Random;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
+import org.apache.commons.lang3.ClassUtils;
 import org.hamcrest.Matcher;
 import org.objenesis.Objenesis;
 import org.objenesis.ObjenesisStd;
@@ -17,8 +27,15 @@ import com.semantica.pocketknife.methodrecorder.dynamicproxies.Dummy;
 
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.TypeCache;
+import net.bytebuddy.description.modifier.Ownership;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
-import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.This;
 import net.bytebuddy.matcher.ElementMatchers;
 
 /**
@@ -44,17 +61,31 @@ import net.bytebuddy.matcher.ElementMatchers;
  * generated. A new instance is created that will only equals(..) to another
  * instance if both are the same instance.
  *
+ * This class is safe to use from concurrently running tests: random values are
+ * drawn from {@link ThreadLocalRandom} and the class requested for an
+ * identifying proxy is kept by the interceptor of the generated proxy class
+ * instead of in a shared map of all instances.
+ *
+ * Identifying proxy classes can be generated up front with
+ * {@link #warmUp(Class...)}, which also keeps a pool of ready instances.
+ *
  * @author A. Haanstra
  *
  */
 public class RandomIdentifierValues {
 
 	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(RandomIdentifierValues.class);
-	private static final Random RANDOM = new Random();
 	private static final Objenesis OBJENESIS = new ObjenesisStd();
-	private static final Map<Integer, Class<?>> INSTANCES_OF = new HashMap<>();
-	private static final CallHandler CALL_HANDLER = new CallHandler();
+	static final String PROXY_TYPE_IDENTIFIER = "IdentifyingProxy";
+	private static final String INTERCEPTOR_FIELD_NAME = "identifyingProxyInterceptor";
 	private static final TypeCache<Class<?>> TYPE_CACHE = new TypeCache<>(TypeCache.Sort.SOFT);
+	// key: the requested class, the pool is only set once the class has been warmed up
+	private static final ClassValue<AtomicReference<IdentifierPool>> POOLS = new ClassValue<>() {
+		@Override
+		protected AtomicReference<IdentifierPool> computeValue(Class<?> requestedClass) {
+			return new AtomicReference<>();
+		}
+	};
 
 	/**
 	 * This method returns a new identifier value (new instance or random value)
@@ -71,26 +102,27 @@ public class RandomIdentifierValues {
 	 */
 	@SuppressWarnings("unchecked")
 	public static <T> T identifierValue(Class<T> clazz) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
 		if (clazz.isArray()) {
 			return (T) java.lang.reflect.Array.newInstance(clazz.getComponentType(), 1);
 		} else if (clazz == Boolean.class || clazz == boolean.class) {
 			return (T) Boolean.FALSE;
 		} else if (clazz == Character.class || clazz == char.class) {
-			return (T) (Character) (char) RANDOM.nextInt(Character.MAX_VALUE + 1);
+			return (T) (Character) (char) random.nextInt(Character.MAX_VALUE + 1);
 		} else if (clazz == Byte.class || clazz == byte.class) {
-			return (T) (Byte) (byte) (RANDOM.nextInt(Math.abs(Byte.MIN_VALUE) + Byte.MAX_VALUE + 1)
+			return (T) (Byte) (byte) (random.nextInt(Math.abs(Byte.MIN_VALUE) + Byte.MAX_VALUE + 1)
 					- Math.abs(Byte.MIN_VALUE));
 		} else if (clazz == Short.class || clazz == short.class) {
-			return (T) (Short) (short) (RANDOM.nextInt(Math.abs(Short.MIN_VALUE) + Short.MAX_VALUE + 1)
+			return (T) (Short) (short) (random.nextInt(Math.abs(Short.MIN_VALUE) + Short.MAX_VALUE + 1)
 					- Math.abs(Short.MIN_VALUE));
 		} else if (clazz == Integer.class || clazz == int.class) {
-			return (T) (Integer) (RANDOM.nextInt());
+			return (T) (Integer) (random.nextInt());
 		} else if (clazz == Long.class || clazz == long.class) {
-			return (T) (Long) (RANDOM.nextLong());
+			return (T) (Long) (random.nextLong());
 		} else if (clazz == Float.class || clazz == float.class) {
-			return (T) (Float) (RANDOM.nextFloat());
+			return (T) (Float) (random.nextFloat());
 		} else if (clazz == Double.class || clazz == double.class) {
-			return (T) (Double) (RANDOM.nextDouble());
+			return (T) (Double) (random.nextDouble());
 		} else {
 			/*
 			 * We not only create a new subclass only for Abstract classes and Interfaces,
@@ -100,35 +132,192 @@ public class RandomIdentifierValues {
 			 * [enhancer.setUseCache(false)] and will not equals(..) as with the equals(..)
 			 * method intercepted and implemented in the intercept(..) method.
 			 */
-			Class<?> requestedClass = clazz;
-			ClassLoadingStrategyFinder<Dummy> strategyFinder = new ClassLoadingStrategyFinder<>(Dummy.class);
-			ClassLoadingStrategy<ClassLoader> strategy = strategyFinder
-					.getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage();
-			Callable<Class<?>> proxyInstantiator = () -> new ByteBuddy().subclass(clazz)
-					.name(strategyFinder.getTargetClassNameMatchingStrategy(clazz, "IdentifyingProxy"))
-					.method(ElementMatchers.any()).intercept(InvocationHandlerAdapter.of(CALL_HANDLER)).make()
-					.load(strategyFinder.getClassLoader(), strategy).getLoaded();
-			Class<? extends T> newClass = (Class<? extends T>) TYPE_CACHE.findOrInsert(strategyFinder.getClassLoader(),
-					requestedClass, proxyInstantiator);
-			T newInstance = OBJENESIS.newInstance(newClass);
-			INSTANCES_OF.put(System.identityHashCode(newInstance), requestedClass);
-			return newInstance;
+			IdentifierPool pool = POOLS.get(clazz).get();
+			if (pool != null) {
+				return (T) pool.take();
+			} else {
+				return (T) OBJENESIS.newInstance(getOrCreateProxyClass(clazz));
+			}
 		}
 	}
 
-	private static class CallHandler implements InvocationHandler {
-		@Override
-		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+	/*
+	 * Proxy classes generated at build time (see ProxyClassGenerator) are used when
+	 * they are on the class path, otherwise the proxy class is generated now. In
+	 * both cases, the interceptor for the requested class is set once the proxy
+	 * class is loaded.
+	 */
+	private static Class<?> getOrCreateProxyClass(Class<?> requestedClass) {
+		ClassLoadingStrategyFinder<Dummy> strategyFinder = new ClassLoadingStrategyFinder<>(Dummy.class);
+		Callable<Class<?>> proxyInstantiator = () -> {
+			Class<?> proxyClass = strategyFinder.findPregeneratedClass(requestedClass, PROXY_TYPE_IDENTIFIER)
+					.orElseGet(() -> {
+						ClassLoadingStrategy<ClassLoader> strategy = strategyFinder
+								.getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage();
+						return makeProxyClass(requestedClass,
+								strategyFinder.getTargetClassNameMatchingStrategy(requestedClass, PROXY_TYPE_IDENTIFIER))
+										.load(strategyFinder.getClassLoader(), strategy).getLoaded();
+					});
+			proxyClass.getField(INTERCEPTOR_FIELD_NAME).set(null, new Interceptor(requestedClass));
+			return proxyClass;
+		};
+		return TYPE_CACHE.findOrInsert(strategyFinder.getClassLoader(), requestedClass, proxyInstantiator, TYPE_CACHE);
+	}
+
+	static DynamicType.Unloaded<?> makeProxyClass(Class<?> requestedClass, String name) {
+		return new ByteBuddy().subclass(requestedClass).name(name)
+				.defineField(INTERCEPTOR_FIELD_NAME, Interceptor.class, Visibility.PUBLIC, Ownership.STATIC)
+				.method(ElementMatchers.any())
+				.intercept(MethodDelegation.withDefaultConfiguration()
+						.filter(ElementMatchers.not(ElementMatchers.isDeclaredBy(Object.class)))
+						.toField(INTERCEPTOR_FIELD_NAME))
+				.make();
+	}
+
+	/**
+	 * Generates the identifying proxy classes for the given types up front and
+	 * keeps a small pool of ready instances for each of them, which is refilled on
+	 * a background thread. Identifier values for these types are then taken from
+	 * the pool, so that creating them (e.g. when wrapping matchers in a test) does
+	 * not pay for code generation. Primitive, wrapper, array and final types are
+	 * skipped, as no proxies are generated for them.
+	 *
+	 * @param types The types to warm up
+	 */
+	public static void warmUp(Class<?>... types) {
+		warmUp(Arrays.asList(types));
+	}
+
+	/**
+	 * Same as {@link #warmUp(Class...)}.
+	 *
+	 * @param types The types to warm up
+	 */
+	public static void warmUp(Collection<Class<?>> types) {
+		for (Class<?> type : types) {
+			if (isProxied(type)) {
+				AtomicReference<IdentifierPool> poolReference = POOLS.get(type);
+				if (poolReference.get() == null) {
+					poolReference.compareAndSet(null, new IdentifierPool(getOrCreateProxyClass(type)));
+				}
+				poolReference.get().refill();
+			} else {
+				log.debug("Skipping warm-up of identifier values for type {}.", type);
+			}
+		}
+	}
+
+	/**
+	 * Warms up identifier values (see {@link #warmUp(Class...)}) for all parameter
+	 * types of the public methods of the given type, e.g. a mocked interface.
+	 *
+	 * @param type The type with the methods
+	 */
+	public static void warmUpParameterTypesOf(Class<?> type) {
+		Set<Class<?>> parameterTypes = new LinkedHashSet<>();
+		for (Method method : type.getMethods()) {
+			parameterTypes.addAll(Arrays.asList(method.getParameterTypes()));
+		}
+		warmUp(parameterTypes);
+	}
+
+	static boolean isProxied(Class<?> type) {
+		return !type.isPrimitive() && !type.isArray() && !ClassUtils.isPrimitiveWrapper(type)
+				&& !Modifier.isFinal(type.getModifiers());
+	}
+
+	/**
+	 * Pool of ready identifying proxy instances of one proxy class. Every instance
+	 * is handed out once. When the pool runs low, it is refilled on a background
+	 * thread; when it is empty, a new instance is created on the calling thread.
+	 */
+	private static class IdentifierPool {
+
+		private static final int CAPACITY = 16;
+
+		private final Class<?> proxyClass;
+		private final Queue<Object> instances = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger size = new AtomicInteger();
+		private final AtomicBoolean refillScheduled = new AtomicBoolean();
+
+		public IdentifierPool(Class<?> proxyClass) {
+			super();
+			this.proxyClass = proxyClass;
+		}
+
+		public Object take() {
+			Object instance = instances.poll();
+			if (instance == null) {
+				instance = OBJENESIS.newInstance(proxyClass);
+			} else if (size.decrementAndGet() <= CAPACITY / 2 && refillScheduled.compareAndSet(false, true)) {
+				PoolRefiller.EXECUTOR.execute(() -> {
+					refillScheduled.set(false);
+					refill();
+				});
+			}
+			return instance;
+		}
+
+		/*
+		 * May run on the refiller thread and a warming up thread at the same time, so
+		 * a slot is reserved before an instance is added, and the reservation that
+		 * overshoots the capacity is undone.
+		 */
+		public void refill() {
+			while (size.getAndIncrement() < CAPACITY) {
+				instances.add(OBJENESIS.newInstance(proxyClass));
+			}
+			size.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Holder of the executor that refills the pools, so that its thread is only
+	 * started once identifier values are pooled.
+	 */
+	private static class PoolRefiller {
+		private static final Executor EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "identifier-value-pool-refiller");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Interceptor of all methods of the identifying proxies of one requested class.
+	 * It is set on a static field of the proxy class, so that the requested class
+	 * does not have to be tracked per instance.
+	 */
+	public static class Interceptor {
+
+		private final Class<?> requestedClass;
+
+		public Interceptor(Class<?> requestedClass) {
+			super();
+			this.requestedClass = requestedClass;
+		}
+
+		/**
+		 * Implements hashCode(), toString() and equals(..) based on the identity of the
+		 * proxy. All other methods return the default value of their return type.
+		 *
+		 * @param method The invoked method
+		 * @param proxy  This proxy
+		 * @param args   The arguments with which the method was invoked
+		 * @return Return value for the intercepted method
+		 */
+		@RuntimeType
+		public Object intercept(@Origin Method method, @This Object proxy, @AllArguments Object[] args) {
 			if (method.getName().equals("hashCode") && args.length == 0) {
 				return System.identityHashCode(proxy);
 			} else if (method.getName().equals("toString") && args.length == 0) {
-				return "Identifier dummy instance of class: " + INSTANCES_OF.get(System.identityHashCode(proxy))
-						+ ", hashCode: " + System.identityHashCode(proxy);
+				return "Identifier dummy instance of class: " + requestedClass + ", hashCode: "
+						+ System.identityHashCode(proxy);
 			} else if (method.getName().equals("equals") && args.length == 1
 					&& method.getParameterTypes()[0].equals(Object.class)) {
-				return System.identityHashCode(proxy) == System.identityHashCode(args[0]);
+				return proxy == args[0];
 			} else {
-				return null;
+				return DefaultValues.defaultValue(method.getReturnType());
 			}
 		}
 	}
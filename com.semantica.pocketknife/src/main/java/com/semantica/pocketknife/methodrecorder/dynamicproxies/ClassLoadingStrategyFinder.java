@@ -1,16 +1,39 @@
 package com.semantica.pocketknife.methodrecorder.dynamicproxies;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import com.semantica.pocketknife.methodrecorder.FatalTestException;
 
-import net.bytebuddy.dynamic.loading.ClassInjector;
+import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 
 public class ClassLoadingStrategyFinder<T> {
 
+	/**
+	 * System property that, when set to {@code true}, makes the class loading
+	 * strategy define dynamic proxies as hidden classes (on Java 15 and later),
+	 * where the caller allows this. Hidden classes are not registered with their
+	 * class loader, so they can be unloaded as soon as they are no longer used.
+	 * Their names are not the names they were generated with.
+	 */
+	public static final String HIDDEN_CLASSES_PROPERTY = "com.semantica.pocketknife.proxies.hidden";
+	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(ClassLoadingStrategyFinder.class);
+	// key: the class in the target package
+	private static final ClassValue<Strategies> STRATEGIES = new ClassValue<>() {
+		@Override
+		protected Strategies computeValue(Class<?> classInTargetPackage) {
+			return new Strategies(classInTargetPackage);
+		}
+	};
+
 	private final Class<T> classInTargetPackage;
 
 	/**
@@ -24,32 +47,42 @@ public class ClassLoadingStrategyFinder<T> {
 	}
 
 	/**
-	 * Method returning the appropriate proxy class loading strategy to for the
-	 * current JVM. This method invokes a call site sensitive method
-	 * (MethodHandles::lookup), therefore, per module that invokes this method, this
-	 * method should be defined inside the same module.
+	 * Method returning the class loading strategy that defines proxy classes in the
+	 * package of the class in the target package, using a private lookup in that
+	 * class. This method uses a call site sensitive method (MethodHandles::lookup),
+	 * therefore, per module that invokes this method, this method should be defined
+	 * inside the same module. The strategy is created once per class in the target
+	 * package.
 	 *
 	 * @return The appropriate class loading strategy for Byte Buddy.
 	 */
 	public ClassLoadingStrategy<ClassLoader> getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage() {
-		if (ClassInjector.UsingLookup.isAvailable()) { // Java version >= 9
-			Object privateLookup;
-			try {
-				Class<?> methodHandles = Class.forName("java.lang.invoke.MethodHandles");
-				Object lookup = methodHandles.getMethod("lookup").invoke(null);
-				Method privateLookupIn = methodHandles.getMethod("privateLookupIn", Class.class,
-						Class.forName("java.lang.invoke.MethodHandles$Lookup"));
-				privateLookup = privateLookupIn.invoke(null, classInTargetPackage, lookup);
-			} catch (ClassNotFoundException | IllegalAccessException | IllegalArgumentException
-					| InvocationTargetException | NoSuchMethodException | SecurityException e) {
-				throw new FatalTestException("Unable to construct private lookup", e);
+		return getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage(false);
+	}
+
+	/**
+	 * Same as {@link #getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage()},
+	 * but if hidden classes are allowed and the {@link #HIDDEN_CLASSES_PROPERTY}
+	 * system property is set, the returned strategy defines proxy classes as hidden
+	 * classes when the JVM supports them. Only allow hidden classes for proxies
+	 * that are instantiated with a constructor: Objenesis cannot instantiate hidden
+	 * classes.
+	 *
+	 * @param allowHiddenClasses Whether proxy classes may be defined as hidden
+	 *                           classes
+	 * @return The appropriate class loading strategy for Byte Buddy.
+	 */
+	public ClassLoadingStrategy<ClassLoader> getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage(
+			boolean allowHiddenClasses) {
+		Strategies strategies = STRATEGIES.get(classInTargetPackage);
+		if (allowHiddenClasses && Boolean.getBoolean(HIDDEN_CLASSES_PROPERTY)) {
+			if (strategies.hiddenClassStrategy != null) {
+				return strategies.hiddenClassStrategy;
+			} else {
+				log.warn("Hidden classes are not supported by this JVM, defining proxies as normal classes.");
 			}
-			return ClassLoadingStrategy.UsingLookup.of(privateLookup);
-		} else if (ClassInjector.UsingReflection.isAvailable()) { // Java version <= 1.8
-			return ClassLoadingStrategy.Default.INJECTION;
-		} else {
-			throw new IllegalStateException("No code generation strategy available.");
 		}
+		return strategies.lookupStrategy;
 	}
 
 	public String getTargetClassNameUniqueForTargetClassMatchingStrategy(Class<?> targetClass,
@@ -62,8 +95,126 @@ public class ClassLoadingStrategyFinder<T> {
 		return classInTargetPackage.getPackage().getName() + "." + targetClass.getSimpleName() + proxyTypeIdentifier;
 	}
 
+	/**
+	 * Gets the name of a proxy class that is generated at build time (see
+	 * {@code ProxyClassGenerator}). Unlike the names of proxies generated at
+	 * runtime, it contains the fully qualified name of the target class, so that
+	 * target classes with the same simple name do not clash.
+	 *
+	 * @param targetClass         The class the proxy class is generated for
+	 * @param proxyTypeIdentifier The suffix identifying the kind of proxy
+	 * @return The name of the pre-generated proxy class
+	 */
+	public String getPregeneratedTargetClassName(Class<?> targetClass, String proxyTypeIdentifier) {
+		return classInTargetPackage.getPackage().getName() + "." + targetClass.getName().replace('.', '_')
+				+ proxyTypeIdentifier;
+	}
+
+	/**
+	 * Finds the proxy class for the given target class that was generated at build
+	 * time and is on the class path.
+	 *
+	 * @param targetClass         The class the proxy class is generated for
+	 * @param proxyTypeIdentifier The suffix identifying the kind of proxy
+	 * @return The pre-generated proxy class or empty if none was generated
+	 */
+	public Optional<Class<?>> findPregeneratedClass(Class<?> targetClass, String proxyTypeIdentifier) {
+		String className = getPregeneratedTargetClassName(targetClass, proxyTypeIdentifier);
+		try {
+			Class<?> pregeneratedClass = Class.forName(className, false, getClassLoader());
+			if (targetClass.isAssignableFrom(pregeneratedClass)) {
+				log.debug("Using pre-generated proxy class {}.", className);
+				return Optional.of(pregeneratedClass);
+			} else {
+				log.warn("Pre-generated proxy class {} is not a subtype of {}, ignoring it.", className, targetClass);
+			}
+		} catch (ClassNotFoundException e) {
+			// not generated at build time
+		}
+		return Optional.empty();
+	}
+
 	public ClassLoader getClassLoader() {
 		return classInTargetPackage.getClassLoader();
 	}
 
+	private static class Strategies {
+		private final ClassLoadingStrategy<ClassLoader> lookupStrategy;
+		private final ClassLoadingStrategy<ClassLoader> hiddenClassStrategy;
+
+		public Strategies(Class<?> classInTargetPackage) {
+			super();
+			Lookup privateLookup;
+			try {
+				privateLookup = MethodHandles.privateLookupIn(classInTargetPackage, MethodHandles.lookup());
+			} catch (IllegalAccessException e) {
+				throw new FatalTestException("Unable to construct private lookup", e);
+			}
+			this.lookupStrategy = ClassLoadingStrategy.UsingLookup.of(privateLookup);
+			this.hiddenClassStrategy = HiddenClassDefiner.DEFINE_HIDDEN_CLASS == null ? null
+					: new HiddenClassLoadingStrategy(privateLookup, lookupStrategy);
+		}
+	}
+
+	/**
+	 * Resolves {@code Lookup::defineHiddenClass} (Java 15 and later) once, as this
+	 * code is compiled for Java 14.
+	 */
+	private static class HiddenClassDefiner {
+		private static final MethodHandle DEFINE_HIDDEN_CLASS;
+		private static final Object[] NO_CLASS_OPTIONS;
+		static {
+			MethodHandle defineHiddenClass = null;
+			Object[] noClassOptions = null;
+			try {
+				Class<?> classOptionArrayType = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption")
+						.arrayType();
+				defineHiddenClass = MethodHandles.publicLookup()
+						.findVirtual(Lookup.class, "defineHiddenClass",
+								MethodType.methodType(Lookup.class, byte[].class, boolean.class, classOptionArrayType))
+						.asFixedArity().asType(MethodType.methodType(Lookup.class, Lookup.class, byte[].class,
+								boolean.class, Object[].class));
+				noClassOptions = (Object[]) Array.newInstance(classOptionArrayType.getComponentType(), 0);
+			} catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+				log.debug("Hidden classes are not supported by this JVM.", e);
+			}
+			DEFINE_HIDDEN_CLASS = defineHiddenClass;
+			NO_CLASS_OPTIONS = noClassOptions;
+		}
+	}
+
+	/**
+	 * Defines a single generated type as hidden class. Generated types that come
+	 * with auxiliary types refer to each other by name, which hidden classes do not
+	 * support, so these are loaded with the fallback strategy.
+	 */
+	private static class HiddenClassLoadingStrategy implements ClassLoadingStrategy<ClassLoader> {
+		private final Lookup privateLookup;
+		private final ClassLoadingStrategy<ClassLoader> fallbackStrategy;
+
+		public HiddenClassLoadingStrategy(Lookup privateLookup, ClassLoadingStrategy<ClassLoader> fallbackStrategy) {
+			super();
+			this.privateLookup = privateLookup;
+			this.fallbackStrategy = fallbackStrategy;
+		}
+
+		@Override
+		public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+			if (types.size() != 1) {
+				return fallbackStrategy.load(classLoader, types);
+			}
+			Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<>();
+			for (Map.Entry<TypeDescription, byte[]> type : types.entrySet()) {
+				try {
+					Lookup hiddenClassLookup = (Lookup) HiddenClassDefiner.DEFINE_HIDDEN_CLASS.invokeExact(privateLookup,
+							type.getValue(), false, HiddenClassDefiner.NO_CLASS_OPTIONS);
+					loadedTypes.put(type.getKey(), hiddenClassLookup.lookupClass());
+				} catch (Throwable e) {
+					throw new FatalTestException("Unable to define hidden class for " + type.getKey().getName(), e);
+				}
+			}
+			return loadedTypes;
+		}
+	}
+
 }
@@ -19,6 +19,14 @@ import com.semantica.pocketknife.util.TestUtils;
 
 /**
  * Minimalistic dynamic mock creator class.
+ * <p>
+ * The stubbing and verification state (e.g. between
+ * {@code doReturn(..).when(mock)} and the following invocation on the mock) is
+ * confined to the thread that stubs or verifies, normally the test thread.
+ * Mocks created by a concurrent inline mocker (see
+ * {@link InlineMockers#getConcurrent(com.semantica.pocketknife.calls.CallsFactory.CallType)})
+ * can therefore be invoked from other threads (e.g. thread pools used by the
+ * code under test) while the test thread stubs and verifies them.
  *
  * @author A. Haanstra
  */
@@ -31,9 +39,8 @@ public class InlineMocker {
     private final VerificationStore<? extends Calls<Method>> verificationStore;
     private final ExactToMatchingMethodConverter exactToMatchingMethodConverter;
 
-    private Stubber<?> stubber;
-    private AlternativeStubber<?> alternativeStubber;
-    private PreparedProxyState preparedProxyState = PreparedProxyState.MOCKING_ON_INTERCEPT;
+    private final ThreadLocal<ThreadConfinedState> threadConfinedState = ThreadLocal
+            .withInitial(ThreadConfinedState::new);
     private InvocationHandler handler = new CallHandler();
 
     InlineMocker(InterceptionsStore interceptionsStore, DelegatesStore delegatesStore,
@@ -54,45 +61,45 @@ public class InlineMocker {
     }
 
     public <S> Stubber<S> whenIntercepted(S dummy) {
-        undoCallRegistrationDuringUnpreparedStubbing();
+        Stubber<?> stubber = threadConfinedState.get().stubber;
+        undoCallRegistrationDuringUnpreparedStubbing(stubber);
         return stubber.typeParameterize();
     }
 
-    private void undoCallRegistrationDuringUnpreparedStubbing() {
+    private void undoCallRegistrationDuringUnpreparedStubbing(Stubber<?> stubber) {
         verificationStore.removeCall(stubber.getQualifiedMethodCall());
     }
 
     @SafeVarargs
     public final <S> AlternativeStubber<S> doReturn(S returnValue, S... returnValues) {
-        this.preparedProxyState = PreparedProxyState.STUBBING_ON_INTERCEPT;
         AlternativeStubber<S> alternativeStubber = new AlternativeStubber<>(
                 StubType.RETURNS, TestUtils.toList(returnValue, returnValues));
-        this.alternativeStubber = alternativeStubber;
-        return alternativeStubber;
+        return prepareStubbing(alternativeStubber);
     }
 
     public <S> AlternativeStubber<S> doReturn(S returnValue, Return returnTimes) {
-        this.preparedProxyState = PreparedProxyState.STUBBING_ON_INTERCEPT;
         AlternativeStubber<S> alternativeStubber = new AlternativeStubber<>(
                 StubType.RETURNS, TestUtils.fillList(returnValue, returnTimes.getTimes()));
-        this.alternativeStubber = alternativeStubber;
-        return alternativeStubber;
+        return prepareStubbing(alternativeStubber);
     }
 
     @SafeVarargs
     public final <S extends Throwable> AlternativeStubber<S> doThrow(S throwable, S... throwables) {
-        this.preparedProxyState = PreparedProxyState.STUBBING_ON_INTERCEPT;
         AlternativeStubber<S> alternativeStubber = new AlternativeStubber<>(
                 StubType.THROWS, TestUtils.toList(throwable, throwables));
-        this.alternativeStubber = alternativeStubber;
-        return alternativeStubber;
+        return prepareStubbing(alternativeStubber);
     }
 
     public <S extends Throwable> AlternativeStubber<S> doThrow(S throwable, Throw throwTimes) {
-        this.preparedProxyState = PreparedProxyState.STUBBING_ON_INTERCEPT;
         AlternativeStubber<S> alternativeStubber = new AlternativeStubber<>(
                 StubType.THROWS, TestUtils.fillList(throwable, throwTimes.getTimes()));
-        this.alternativeStubber = alternativeStubber;
+        return prepareStubbing(alternativeStubber);
+    }
+
+    private <S> AlternativeStubber<S> prepareStubbing(AlternativeStubber<S> alternativeStubber) {
+        ThreadConfinedState state = threadConfinedState.get();
+        state.alternativeStubber = alternativeStubber;
+        state.preparedProxyState = PreparedProxyState.STUBBING_ON_INTERCEPT;
         return alternativeStubber;
     }
 
@@ -102,7 +109,7 @@ public class InlineMocker {
 
     public <S> S assertCalled(Invoked timesInvoked, S mock) {
         verificationStore.addNumberOfTimesIncomingMethodIsExpectedToBeInvoked(timesInvoked);
-        preparedProxyState = PreparedProxyState.VERIFICATION_ON_INTERCEPT;
+        threadConfinedState.get().preparedProxyState = PreparedProxyState.VERIFICATION_ON_INTERCEPT;
         return mock;
     }
 
@@ -204,28 +211,45 @@ public class InlineMocker {
         STUBBING_ON_INTERCEPT, VERIFICATION_ON_INTERCEPT, MOCKING_ON_INTERCEPT;
     }
 
+    /*
+     * The state of the stubbing and verification statements in progress on a
+     * single thread.
+     */
+    private static class ThreadConfinedState {
+        private Stubber<?> stubber;
+        private AlternativeStubber<?> alternativeStubber;
+        private PreparedProxyState preparedProxyState = PreparedProxyState.MOCKING_ON_INTERCEPT;
+    }
+
     private class CallHandler implements InvocationHandler {
 
         @Override
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            MethodCall<Method> methodCall = new MethodCall<>(method, args == null ? new Object[0] : args);
-            QualifiedMethodCall<Method> qualifiedMethodCall = new QualifiedMethodCall<>(proxy, methodCall);
-            Optional<Object> proxyRelatedReturnValue = toStringHashCodeEquals(proxy, methodCall);
-            if (proxyRelatedReturnValue.isPresent()) {
-                return proxyRelatedReturnValue.get();
+            Object[] arguments = args == null ? new Object[0] : args;
+            // The proxy passes the methods of Object for hashCode, equals and toString,
+            // also when they are redeclared in the mocked interface. These methods are
+            // invoked for every lookup of the mock in the (hash based) stores.
+            if (method.getDeclaringClass() == Object.class) {
+                Optional<Object> proxyRelatedReturnValue = toStringHashCodeEquals(proxy, method, arguments);
+                if (proxyRelatedReturnValue.isPresent()) {
+                    return proxyRelatedReturnValue.get();
+                }
             }
+            MethodCall<Method> methodCall = new MethodCall<>(method, arguments);
+            QualifiedMethodCall<Method> qualifiedMethodCall = new QualifiedMethodCall<>(proxy, methodCall);
 
-            switch (InlineMocker.this.preparedProxyState) {
+            ThreadConfinedState state = threadConfinedState.get();
+            switch (state.preparedProxyState) {
                 case STUBBING_ON_INTERCEPT: // mocker.doReturn(retVal).when(mock).someMethod();
-                    InlineMocker.this.preparedProxyState = PreparedProxyState.MOCKING_ON_INTERCEPT;
-                    return stub(qualifiedMethodCall);
+                    state.preparedProxyState = PreparedProxyState.MOCKING_ON_INTERCEPT;
+                    return stub(qualifiedMethodCall, state.alternativeStubber);
                 case VERIFICATION_ON_INTERCEPT: // mocker.assertCalled(Invoked.ONCE, mock).someMethod(someArg);
-                    InlineMocker.this.preparedProxyState = PreparedProxyState.MOCKING_ON_INTERCEPT;
+                    state.preparedProxyState = PreparedProxyState.MOCKING_ON_INTERCEPT;
                     return verifyAndRemoveCall(qualifiedMethodCall);
                 case MOCKING_ON_INTERCEPT: // mock.someMethod();
                     // Start stubbing in case this intercept was executed as part of
                     // mocker.whenIntercepted(mock.someMethod()).thenReturn(retVal);
-                    stubber = new Stubber<>(qualifiedMethodCall);
+                    state.stubber = new Stubber<>(qualifiedMethodCall);
                     // Register this proxy method invocation for later verification (needs to be
                     // removed if stubbing proceeds from instantiated stubber): see
                     // mocker.whenIntercepted(..) and undoCallRegistrationDuringUnpreparedStubbing()
@@ -236,24 +260,24 @@ public class InlineMocker {
                             .orElseGet(() -> DefaultValues.defaultValue(methodCall.getMethod().getReturnType())));
                 default:
                     throw new NotImplementedException(String.format("Not implemented prepared proxy state encountered: %s",
-                            InlineMocker.this.preparedProxyState));
+                            state.preparedProxyState));
             }
         }
 
-        private Optional<Object> toStringHashCodeEquals(Object proxy, MethodCall<Method> methodCall) {
-            if (methodCall.getMethod().getName().equals("hashCode") && methodCall.getArgs().length == 0) {
+        private Optional<Object> toStringHashCodeEquals(Object proxy, Method method, Object[] args) {
+            if (method.getName().equals("hashCode") && args.length == 0) {
                 return Optional.of(System.identityHashCode(proxy));
-            } else if (methodCall.getMethod().getName().equals("toString") && methodCall.getArgs().length == 0) {
+            } else if (method.getName().equals("toString") && args.length == 0) {
                 return Optional.of("Mock proxy object with hashCode: " + System.identityHashCode(proxy));
-            } else if (methodCall.getMethod().getName().equals("equals") && methodCall.getArgs().length == 1) {
-                return Optional.of(System.identityHashCode(proxy) == System.identityHashCode(methodCall.getArgs()[0]));
+            } else if (method.getName().equals("equals") && args.length == 1) {
+                return Optional.of(System.identityHashCode(proxy) == System.identityHashCode(args[0]));
             } else {
                 return Optional.empty();
             }
         }
 
-        private Object stub(QualifiedMethodCall<Method> qualifiedMethodCall) {
-            InlineMocker.this.addInterceptions(qualifiedMethodCall, InlineMocker.this.alternativeStubber.getStubType(), InlineMocker.this.alternativeStubber.getReturnValues());
+        private Object stub(QualifiedMethodCall<Method> qualifiedMethodCall, AlternativeStubber<?> alternativeStubber) {
+            InlineMocker.this.addInterceptions(qualifiedMethodCall, alternativeStubber.getStubType(), alternativeStubber.getReturnValues());
             return DefaultValues.defaultValue(qualifiedMethodCall.getMethodCall().getMethod().getReturnType());
         }
 
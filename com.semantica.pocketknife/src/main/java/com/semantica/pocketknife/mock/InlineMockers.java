@@ -7,6 +7,7 @@ import org.apache.commons.lang3.NotImplementedException;
 import com.semantica.pocketknife.calls.Calls;
 import com.semantica.pocketknife.calls.CallsFactory;
 import com.semantica.pocketknife.calls.DefaultCalls;
+import com.semantica.pocketknife.calls.StackTraceCapture;
 import com.semantica.pocketknife.calls.StrictCalls;
 import com.semantica.pocketknife.mock.service.InlineMockerCallVerificationStore;
 import com.semantica.pocketknife.mock.service.InlineMockerCallVerificationStore.InvocationStore;
@@ -28,27 +29,73 @@ public class InlineMockers {
 	private static final StrictCalls<Method> DUMMY_STRICT_CALLS = new DynamicMockingtrictCallsRegistry<>(Method.class);
 
 	public static InlineMocker get(CallsFactory.CallType callType) {
-		return new InlineMocker(interceptionsStore(), delegatesStore(), callRegistriesStore(callType),
-				exactToMatchingMethodConverter());
+		return get(callType, StackTraceCapture.FULL);
 	}
 
-	private static InterceptionsStore interceptionsStore() {
-		return new InlineMockerInterceptionsStore();
+	/**
+	 * Creates an inline mocker that captures the stack traces of calls on its
+	 * mocks according to the given policy. These stack traces are only printed
+	 * when a verification fails, so {@link StackTraceCapture#NONE} or
+	 * {@link StackTraceCapture#CALLER_FRAME_ONLY} make mocked invocations
+	 * considerably cheaper.
+	 *
+	 * @param callType          The call verification mode
+	 * @param stackTraceCapture The policy for capturing stack traces of calls on
+	 *                          mocks
+	 * @return The inline mocker
+	 */
+	public static InlineMocker get(CallsFactory.CallType callType, StackTraceCapture stackTraceCapture) {
+		return get(callType, stackTraceCapture, false);
 	}
 
-	private static DelegatesStore delegatesStore() {
-		return new InlineMockerDelegatesStore();
+	public static InlineMocker getConcurrent(CallsFactory.CallType callType) {
+		return getConcurrent(callType, StackTraceCapture.FULL);
+	}
+
+	/**
+	 * Creates an inline mocker whose mocks can be invoked concurrently from any
+	 * thread, e.g. from thread pools used by the code under test. Stubbing and
+	 * verification should be done from a single (test) thread; calls registered
+	 * from other threads are buffered without locking and added to the calls
+	 * registries when they are verified. Make sure the invocations from other
+	 * threads have completed (e.g. by awaiting their termination) before
+	 * verifying.
+	 *
+	 * @param callType          The call verification mode
+	 * @param stackTraceCapture The policy for capturing stack traces of calls on
+	 *                          mocks
+	 * @return The concurrent inline mocker
+	 */
+	public static InlineMocker getConcurrent(CallsFactory.CallType callType, StackTraceCapture stackTraceCapture) {
+		return get(callType, stackTraceCapture, true);
+	}
+
+	private static InlineMocker get(CallsFactory.CallType callType, StackTraceCapture stackTraceCapture,
+			boolean concurrent) {
+		return new InlineMocker(interceptionsStore(concurrent), delegatesStore(concurrent),
+				callRegistriesStore(callType, stackTraceCapture, concurrent), exactToMatchingMethodConverter());
+	}
+
+	private static InterceptionsStore interceptionsStore(boolean concurrent) {
+		return new InlineMockerInterceptionsStore(concurrent);
+	}
+
+	private static DelegatesStore delegatesStore(boolean concurrent) {
+		return new InlineMockerDelegatesStore(concurrent);
 	}
 
 	@SuppressWarnings("unchecked")
-	private static VerificationStore<? extends Calls<Method>> callRegistriesStore(CallsFactory.CallType callType) {
+	private static VerificationStore<? extends Calls<Method>> callRegistriesStore(CallsFactory.CallType callType,
+			StackTraceCapture stackTraceCapture, boolean concurrent) {
 		switch (callType) {
 		case DEFAULT:
 			return new InlineMockerCallVerificationStore<DefaultCalls<Method>>(
-					(Class<DefaultCalls<Method>>) DUMMY_DEFAULT_CALLS.getClass(), invocationVerificationStore());
+					(Class<DefaultCalls<Method>>) DUMMY_DEFAULT_CALLS.getClass(), invocationVerificationStore(),
+					stackTraceCapture, concurrent);
 		case STRICT:
 			return new InlineMockerCallVerificationStore<StrictCalls<Method>>(
-					(Class<StrictCalls<Method>>) DUMMY_STRICT_CALLS.getClass(), invocationVerificationStore());
+					(Class<StrictCalls<Method>>) DUMMY_STRICT_CALLS.getClass(), invocationVerificationStore(),
+					stackTraceCapture, concurrent);
 		default:
 			throw new NotImplementedException(String.format("Unknown CallType: %s.", callType));
 		}
@@ -9,6 +9,19 @@ import com.semantica.pocketknife.calls.MethodCall;
 
 public class MockUtils {
 
+	/**
+	 * Finds the stored method call with matching arguments that matches the
+	 * intercepted method call, by matching it against all given method calls.
+	 *
+	 * @param <T>                                       The method key class
+	 * @param interceptedExactQueryMethodCall           The intercepted method call
+	 * @param registeredMethodCallsWithMatchingArguments The stored method calls
+	 * @return The matching stored method call, or null if none matches
+	 * @throws IllegalArgumentException If more than one stored method call matches
+	 * @deprecated Inline mocks look up their stubs per method in
+	 *             {@link com.semantica.pocketknife.mock.service.InlineMockerInterceptionsStore}.
+	 */
+	@Deprecated
 	public static <T> MethodCall<T> getStoredMatcherMethodCall(MethodCall<T> interceptedExactQueryMethodCall,
 			Set<MethodCall<T>> registeredMethodCallsWithMatchingArguments) {
 		final MethodCall<T> exactQueryMethodCall = interceptedExactQueryMethodCall;
@@ -20,12 +33,7 @@ public class MockUtils {
 				.filter(registeredMatcherCall -> CallsUtils.match(exactQueryMethodCall, registeredMatcherCall))
 				.collect(Collectors.toList());
 		if (matchingRegisteredMatcherCalls.size() > 1) {
-			String ambiguouslyDefinedInterceptionMethodCalls = matchingRegisteredMatcherCalls.stream().map(
-					ambiguouslyDefinedInterceptionMethodCall -> ambiguouslyDefinedInterceptionMethodCall.toString())
-					.collect(Collectors.joining(", "));
-			throw new IllegalArgumentException(String.format(
-					"The mock interceptions are ambiguously specified using matching arguments. Intercepted method call \"%s\" matches the interception method calls:\"%s\".",
-					interceptedExactQueryMethodCall, ambiguouslyDefinedInterceptionMethodCalls));
+			throw ambiguousInterceptionsException(interceptedExactQueryMethodCall, matchingRegisteredMatcherCalls);
 		} else if (matchingRegisteredMatcherCalls.size() == 1) {
 			return matchingRegisteredMatcherCalls.get(0);
 		} else {
@@ -33,4 +41,14 @@ public class MockUtils {
 		}
 	}
 
+	public static <T> IllegalArgumentException ambiguousInterceptionsException(
+			MethodCall<T> interceptedExactQueryMethodCall, List<MethodCall<T>> matchingRegisteredMatcherCalls) {
+		String ambiguouslyDefinedInterceptionMethodCalls = matchingRegisteredMatcherCalls.stream()
+				.map(ambiguouslyDefinedInterceptionMethodCall -> ambiguouslyDefinedInterceptionMethodCall.toString())
+				.collect(Collectors.joining(", "));
+		return new IllegalArgumentException(String.format(
+				"The mock interceptions are ambiguously specified using matching arguments. Intercepted method call \"%s\" matches the interception method calls:\"%s\".",
+				interceptedExactQueryMethodCall, ambiguouslyDefinedInterceptionMethodCalls));
+	}
+
 }
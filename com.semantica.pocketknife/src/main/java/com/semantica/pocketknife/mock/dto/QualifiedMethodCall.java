@@ -1,7 +1,5 @@
 package com.semantica.pocketknife.mock.dto;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 
 import com.semantica.pocketknife.calls.MethodCall;
@@ -10,6 +8,7 @@ public class QualifiedMethodCall<T> {
 
 	private final Object invokedOnInstance;
 	private final MethodCall<T> methodCall;
+	private int hash;
 
 	public QualifiedMethodCall(Object invokedOnInstance, MethodCall<T> methodCall) {
 		super();
@@ -30,13 +29,46 @@ public class QualifiedMethodCall<T> {
 		return ReflectionToStringBuilder.toString(this);
 	}
 
+	/**
+	 * The instance a method was invoked on is compared by identity: it is
+	 * typically a mock, whose equals and hashCode methods are intercepted
+	 * themselves. The hash code is computed once and cached.
+	 */
 	@Override
 	public int hashCode() {
-		return HashCodeBuilder.reflectionHashCode(this);
+		int result = hash;
+		if (result == 0) {
+			final int prime = 31;
+			result = 1;
+			result = prime * result + System.identityHashCode(invokedOnInstance);
+			result = prime * result + ((methodCall == null) ? 0 : methodCall.hashCode());
+			hash = result;
+		}
+		return result;
 	}
 
 	@Override
-	public boolean equals(Object other) {
-		return EqualsBuilder.reflectionEquals(this, other);
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		QualifiedMethodCall<?> other = (QualifiedMethodCall<?>) obj;
+		if (invokedOnInstance != other.invokedOnInstance) {
+			return false;
+		}
+		if (methodCall == null) {
+			if (other.methodCall != null) {
+				return false;
+			}
+		} else if (!methodCall.equals(other.methodCall)) {
+			return false;
+		}
+		return true;
 	}
 }
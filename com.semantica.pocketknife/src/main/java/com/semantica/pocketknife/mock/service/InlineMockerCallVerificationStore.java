@@ -3,6 +3,7 @@ package com.semantica.pocketknife.mock.service;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.NotImplementedException;
 
@@ -10,9 +11,11 @@ import com.semantica.pocketknife.calls.Calls;
 import com.semantica.pocketknife.calls.DefaultCalls;
 import com.semantica.pocketknife.calls.Invoked;
 import com.semantica.pocketknife.calls.MethodCall;
+import com.semantica.pocketknife.calls.StackTraceCapture;
 import com.semantica.pocketknife.calls.StrictCalls;
 import com.semantica.pocketknife.mock.VerificationStore;
 import com.semantica.pocketknife.mock.dto.QualifiedMethodCall;
+import com.semantica.pocketknife.mock.service.support.components.BufferedCalls;
 import com.semantica.pocketknife.mock.service.support.components.DynamicMockingCallsRegistry;
 import com.semantica.pocketknife.mock.service.support.components.DynamicMockingtrictCallsRegistry;
 
@@ -22,9 +25,11 @@ public class InlineMockerCallVerificationStore<T extends Calls<Method>>
 	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory
 			.getLogger(InlineMockerCallVerificationStore.class);
 	// key: the proxy (mock) instance
-	private final Map<Object, T> allCallsRegistries = new HashMap<>();
+	private final Map<Object, T> allCallsRegistries;
 	private final Class<T> callsClass;
 	private final InvocationStore mockVerificationStore;
+	private final StackTraceCapture stackTraceCapture;
+	private final boolean concurrent;
 
 	public static interface InvocationStore {
 		public void addNumberOfTimesIncomingMethodIsExpectedToBeInvoked(Invoked timesInvoked);
@@ -33,9 +38,34 @@ public class InlineMockerCallVerificationStore<T extends Calls<Method>>
 	}
 
 	public InlineMockerCallVerificationStore(Class<T> callsClass, InvocationStore mockVerificationStore) {
+		this(callsClass, mockVerificationStore, StackTraceCapture.FULL);
+	}
+
+	public InlineMockerCallVerificationStore(Class<T> callsClass, InvocationStore mockVerificationStore,
+			StackTraceCapture stackTraceCapture) {
+		this(callsClass, mockVerificationStore, stackTraceCapture, false);
+	}
+
+	/**
+	 * Creates a verification store. In concurrent mode, calls can be registered
+	 * from any thread: they are buffered in a lock-free queue per mock and only
+	 * added to the calls registry of the mock when calls are removed or verified.
+	 * Verification itself should be done from a single (test) thread.
+	 *
+	 * @param callsClass            The calls registry type (verification mode)
+	 * @param mockVerificationStore The store for the expected number of
+	 *                              invocations
+	 * @param stackTraceCapture     The policy for capturing stack traces of calls
+	 * @param concurrent            Whether calls may be registered concurrently
+	 */
+	public InlineMockerCallVerificationStore(Class<T> callsClass, InvocationStore mockVerificationStore,
+			StackTraceCapture stackTraceCapture, boolean concurrent) {
 		super();
 		this.callsClass = callsClass;
 		this.mockVerificationStore = mockVerificationStore;
+		this.stackTraceCapture = stackTraceCapture;
+		this.concurrent = concurrent;
+		this.allCallsRegistries = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
 	}
 
 	@SuppressWarnings("unchecked")
@@ -43,9 +73,9 @@ public class InlineMockerCallVerificationStore<T extends Calls<Method>>
 	public void newCallsRegistryFor(Object proxy) {
 		T calls = null;
 		if (DefaultCalls.class.isAssignableFrom(callsClass)) {
-			calls = (T) new DynamicMockingCallsRegistry<>(Method.class);
+			calls = (T) new DynamicMockingCallsRegistry<>(Method.class, stackTraceCapture);
 		} else if (StrictCalls.class.isAssignableFrom(callsClass)) {
-			calls = (T) new DynamicMockingtrictCallsRegistry<>(Method.class);
+			calls = (T) new DynamicMockingtrictCallsRegistry<>(Method.class, stackTraceCapture);
 		} else {
 			throwNotImplementedExceptionForCallsClass();
 		}
@@ -59,7 +89,7 @@ public class InlineMockerCallVerificationStore<T extends Calls<Method>>
 
 	@Override
 	public void removeCall(QualifiedMethodCall<Method> qualifiedMethodCall) {
-		Calls<Method> calls = allCallsRegistries.get(qualifiedMethodCall.getInvokedOnInstance());
+		Calls<Method> calls = getCallsRegistry(qualifiedMethodCall.getInvokedOnInstance());
 		calls.removeCall(qualifiedMethodCall.getMethodCall());
 	}
 
@@ -68,7 +98,7 @@ public class InlineMockerCallVerificationStore<T extends Calls<Method>>
 		Invoked numberOfTimesIncomingMethodIsExpectedToBeInvoked = mockVerificationStore
 				.removeNumberOfTimesIncomingMethodIsExpectedToBeInvoked();
 		MethodCall<Method> matchingMethod = qualifiedMatchingMethod.getMethodCall();
-		T calls = allCallsRegistries.get(qualifiedMatchingMethod.getInvokedOnInstance());
+		T calls = getCallsRegistry(qualifiedMatchingMethod.getInvokedOnInstance());
 		if (DefaultCalls.class.isAssignableFrom(callsClass)) {
 			assert ((DefaultCalls<Method>) calls).verifyAndRemoveCall(numberOfTimesIncomingMethodIsExpectedToBeInvoked,
 					matchingMethod);
@@ -88,23 +118,41 @@ public class InlineMockerCallVerificationStore<T extends Calls<Method>>
 		}
 	}
 
+	@SuppressWarnings("unchecked")
 	@Override
 	public void registerCall(QualifiedMethodCall<Method> qualifiedMethodCall) {
 		T calls = allCallsRegistries.get(qualifiedMethodCall.getInvokedOnInstance());
-		calls.registerCall(qualifiedMethodCall.getMethodCall());
+		if (concurrent) {
+			((BufferedCalls<Method>) calls).bufferCall(qualifiedMethodCall.getMethodCall());
+		} else {
+			calls.registerCall(qualifiedMethodCall.getMethodCall());
+		}
+	}
+
+	/*
+	 * Returns the calls registry of the mock for removal or verification of calls,
+	 * after registering the calls that were buffered in concurrent mode.
+	 */
+	@SuppressWarnings("unchecked")
+	private T getCallsRegistry(Object proxy) {
+		T calls = allCallsRegistries.get(proxy);
+		if (concurrent) {
+			((BufferedCalls<Method>) calls).registerBufferedCalls();
+		}
+		return calls;
 	}
 
 	@Override
 	public void assertNoMoreMethodInvocations(Object... mocks) {
 		for (Object mock : mocks) {
-			assert allCallsRegistries.get(mock).verifyNoMoreMethodInvocations();
+			assert getCallsRegistry(mock).verifyNoMoreMethodInvocations();
 		}
 	}
 
 	@Override
 	public void assertNoMoreMethodInvocationsAnywhere() {
-		for (T calls : allCallsRegistries.values()) {
-			assert calls.verifyNoMoreMethodInvocations();
+		for (Object mock : allCallsRegistries.keySet()) {
+			assert getCallsRegistry(mock).verifyNoMoreMethodInvocations();
 		}
 	}
 
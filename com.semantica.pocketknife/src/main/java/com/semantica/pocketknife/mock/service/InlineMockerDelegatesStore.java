@@ -1,55 +1,95 @@
 package com.semantica.pocketknife.mock.service;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.semantica.pocketknife.calls.MethodCall;
 import com.semantica.pocketknife.mock.DelegatesStore;
-import com.semantica.pocketknife.mock.InlineMocker;
 import com.semantica.pocketknife.mock.dto.QualifiedMethodCall;
-import com.semantica.pocketknife.util.Tuple;
+import com.semantica.pocketknife.mock.service.support.components.DelegateInvoker;
+import com.semantica.pocketknife.mock.service.support.components.DelegateInvokers;
 
 public class InlineMockerDelegatesStore implements DelegatesStore {
 
 	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(InlineMockerDelegatesStore.class);
 
-	// key: tuple of class of delegated interface and mock instance
-	private final Map<Tuple<Class<?>, ?>, Object> delegates = new HashMap<>();
+	private static class BoundDelegate {
+		private final DelegateInvoker invoker;
+		private final Object delegate;
 
+		public BoundDelegate(DelegateInvoker invoker, Object delegate) {
+			super();
+			this.invoker = invoker;
+			this.delegate = delegate;
+		}
+	}
+
+	// key: the mock instance, value: the delegates per method of the delegated
+	// interface(s)
+	private final Map<Object, Map<Method, BoundDelegate>> delegates;
+	private final boolean concurrent;
+
+	public InlineMockerDelegatesStore() {
+		this(false);
+	}
+
+	/**
+	 * Creates a delegates store. In concurrent mode, delegates can be looked up
+	 * from any thread.
+	 *
+	 * @param concurrent Whether delegates may be looked up concurrently
+	 */
+	public InlineMockerDelegatesStore(boolean concurrent) {
+		super();
+		this.concurrent = concurrent;
+		this.delegates = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+	}
+
+	/*
+	 * Only methods declared in the given interface are delegated (see
+	 * executeDelegate(..)). The invokers for these methods are resolved once, here.
+	 */
 	@Override
 	public <S> void register(Class<S> interfaze, S mock, S delegate) {
 		if (interfaze.isInterface() && interfaze.isAssignableFrom(mock.getClass())
 				&& interfaze.isAssignableFrom(delegate.getClass())) {
-			Tuple<Class<?>, ?> key = new Tuple<>(interfaze, mock);
-			delegates.put(key, delegate);
+			Map<Method, BoundDelegate> boundDelegates = delegates.computeIfAbsent(mock,
+					key -> concurrent ? new ConcurrentHashMap<>() : new HashMap<>());
+			for (Method method : interfaze.getDeclaredMethods()) {
+				if (!Modifier.isStatic(method.getModifiers()) && !Modifier.isPrivate(method.getModifiers())) {
+					boundDelegates.put(method, new BoundDelegate(DelegateInvokers.get(method), delegate));
+				}
+			}
 		} else {
 			throw new IllegalArgumentException("Both mock and delegate should be a subtype of the given interface.");
 		}
-
 	}
 
 	/*
 	 * Both the mock and delegate are instances of the interface (see delegate(..)
 	 * method). We only want to delegate methods in the interface. If the current
-	 * method is in the interface, the declaring class is the interface. Therefore,
-	 * we request a tuple key with this interface and proxy, and invoke the delegate
-	 * if it has been set (not null).
+	 * method is in the interface, the declaring class is the interface, and an
+	 * invoker has been registered for it, which invokes the method on the delegate.
 	 *
 	 */
 	@Override
 	public Optional<Object> executeDelegate(QualifiedMethodCall<Method> qualifiedMethodCall) {
-		MethodCall<Method> methodCall = qualifiedMethodCall.getMethodCall();
-		Object proxy = qualifiedMethodCall.getInvokedOnInstance();
-		Object delegate = delegates.get(new Tuple<>(methodCall.getMethod().getDeclaringClass(), proxy));
-		if (delegate != null) {
-			try {
-				return Optional.ofNullable(methodCall.getMethod().invoke(delegate, methodCall.getArgs()));
-			} catch (InvocationTargetException | IllegalAccessException | IllegalArgumentException e) {
-				log.error("Cannot invoke delegate method {}.", methodCall.getMethod(), e.getCause());
-				throw new RuntimeException(e);
+		Map<Method, BoundDelegate> boundDelegates = delegates.get(qualifiedMethodCall.getInvokedOnInstance());
+		if (boundDelegates != null) {
+			MethodCall<Method> methodCall = qualifiedMethodCall.getMethodCall();
+			BoundDelegate boundDelegate = boundDelegates.get(methodCall.getMethod());
+			if (boundDelegate != null) {
+				try {
+					return Optional
+							.ofNullable(boundDelegate.invoker.invoke(boundDelegate.delegate, methodCall.getArgs()));
+				} catch (Throwable e) {
+					log.error("Cannot invoke delegate method {}.", methodCall.getMethod(), e);
+					throw new RuntimeException(e);
+				}
 			}
 		}
 		return Optional.empty();
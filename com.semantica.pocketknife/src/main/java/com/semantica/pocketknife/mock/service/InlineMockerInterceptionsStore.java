@@ -2,12 +2,19 @@ package com.semantica.pocketknife.mock.service;
 
 import java.lang.reflect.Method;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
 
+import com.semantica.pocketknife.calls.CallsUtils;
 import com.semantica.pocketknife.calls.MethodCall;
 import com.semantica.pocketknife.mock.InterceptionsStore;
 import com.semantica.pocketknife.mock.MockUtils;
@@ -26,22 +33,120 @@ public class InlineMockerInterceptionsStore implements InterceptionsStore {
         }
     }
 
+    /*
+     * The stubs of a single method of a mock. Stubs with exact arguments are looked
+     * up by hash code, stubs with matching arguments are compiled into argument
+     * predicates when they are added and tested in the order they were added.
+     */
+    private class MethodStubs {
+        private final Map<MethodCall<Method>, Queue<Stub>> exactStubs = concurrent ? new ConcurrentHashMap<>()
+                : new HashMap<>();
+        private final List<MatcherStubs> matcherStubs = concurrent ? new CopyOnWriteArrayList<>() : new ArrayList<>();
+
+        private Queue<Stub> getOrCreateStubs(MethodCall<Method> methodCall) {
+            if (!CallsUtils.containsMatchingArguments(methodCall.getArgs())) {
+                return exactStubs.computeIfAbsent(methodCall, key -> newStubsQueue());
+            }
+            for (MatcherStubs matcherStub : matcherStubs) {
+                if (matcherStub.methodCall.equals(methodCall)) {
+                    return matcherStub.stubs;
+                }
+            }
+            MatcherStubs matcherStub = new MatcherStubs(methodCall, newStubsQueue());
+            matcherStubs.add(matcherStub);
+            return matcherStub.stubs;
+        }
+
+        /*
+         * The stubs are only ambiguous if the intercepted method call matches more
+         * than one stubbed method call, so when there are no matcher stubs, the exact
+         * stubs do not have to be checked for ambiguity.
+         */
+        private Queue<Stub> getStubs(MethodCall<Method> interceptedMethodCall) {
+            Queue<Stub> stubs = exactStubs.get(interceptedMethodCall);
+            boolean matched = stubs != null;
+            for (MatcherStubs matcherStub : matcherStubs) {
+                if (matcherStub.matches(interceptedMethodCall.getArgs())) {
+                    if (matched) {
+                        throw MockUtils.ambiguousInterceptionsException(interceptedMethodCall,
+                                getMatchingMethodCalls(interceptedMethodCall));
+                    }
+                    stubs = matcherStub.stubs;
+                    matched = true;
+                }
+            }
+            return stubs;
+        }
+
+        private List<MethodCall<Method>> getMatchingMethodCalls(MethodCall<Method> interceptedMethodCall) {
+            List<MethodCall<Method>> matchingMethodCalls = new ArrayList<>();
+            if (exactStubs.containsKey(interceptedMethodCall)) {
+                matchingMethodCalls.add(interceptedMethodCall);
+            }
+            for (MatcherStubs matcherStub : matcherStubs) {
+                if (matcherStub.matches(interceptedMethodCall.getArgs())) {
+                    matchingMethodCalls.add(matcherStub.methodCall);
+                }
+            }
+            return matchingMethodCalls;
+        }
+
+        private Queue<Stub> newStubsQueue() {
+            return concurrent ? new ConcurrentLinkedQueue<>() : new ArrayDeque<>();
+        }
+    }
+
+    private class MatcherStubs {
+        private final MethodCall<Method> methodCall;
+        private final Predicate<Object>[] argumentPredicates;
+        private final Queue<Stub> stubs;
+
+        @SuppressWarnings("unchecked")
+        public MatcherStubs(MethodCall<Method> methodCall, Queue<Stub> stubs) {
+            this.methodCall = methodCall;
+            this.argumentPredicates = Arrays.stream(methodCall.getArgs()).map(CallsUtils::toArgumentPredicate)
+                    .toArray(Predicate[]::new);
+            this.stubs = stubs;
+        }
+
+        private boolean matches(Object[] args) {
+            for (int i = 0; i < argumentPredicates.length; i++) {
+                if (!argumentPredicates[i].test(args[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     // key: the proxy (mock) instance
-    private final Map<Object, Map<MethodCall<Method>, Queue<Stub>>> allInterceptions = new HashMap<>();
+    private final Map<Object, Map<Method, MethodStubs>> allInterceptions;
+    private final boolean concurrent;
+
+    public InlineMockerInterceptionsStore() {
+        this(false);
+    }
+
+    /**
+     * Creates an interceptions store. In concurrent mode, stubs can be consumed
+     * from any thread (stubs are still expected to be added from a single thread).
+     *
+     * @param concurrent Whether stubs may be consumed concurrently
+     */
+    public InlineMockerInterceptionsStore(boolean concurrent) {
+        super();
+        this.concurrent = concurrent;
+        this.allInterceptions = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
 
     @Override
     public void addInterceptions(QualifiedMethodCall<Method> qualifiedMethodCall, StubType stubType, List<Object> stubValues) {
         Object proxy = qualifiedMethodCall.getInvokedOnInstance();
-        Map<MethodCall<Method>, Queue<Stub>> interceptions = allInterceptions.get(proxy);
-        if (interceptions == null) {
-            interceptions = new HashMap<>();
-            allInterceptions.put(proxy, interceptions);
-        }
-        Queue<Stub> orderedStubs = interceptions.get(qualifiedMethodCall.getMethodCall());
-        if (orderedStubs == null) {
-            orderedStubs = new ArrayDeque<>(stubValues.size());
-            interceptions.put(qualifiedMethodCall.getMethodCall(), orderedStubs);
-        }
+        MethodCall<Method> methodCall = qualifiedMethodCall.getMethodCall();
+        Map<Method, MethodStubs> interceptions = allInterceptions.computeIfAbsent(proxy,
+                key -> concurrent ? new ConcurrentHashMap<>() : new HashMap<>());
+        MethodStubs methodStubs = interceptions.computeIfAbsent(methodCall.getMethod(), key -> new MethodStubs());
+        Queue<Stub> orderedStubs = methodStubs.getOrCreateStubs(methodCall);
         for (Object stubValue : stubValues) {
             orderedStubs.add(new Stub(stubType, stubValue));
         }
@@ -51,12 +156,12 @@ public class InlineMockerInterceptionsStore implements InterceptionsStore {
     public Optional<Object> matchExactMethodCallToStoredMatchingMethodCalls(
             QualifiedMethodCall<Method> qualifiedMethodCall) throws Throwable {
         Object proxy = qualifiedMethodCall.getInvokedOnInstance();
-        Map<MethodCall<Method>, Queue<Stub>> interceptions = allInterceptions.get(proxy);
+        Map<Method, MethodStubs> interceptions = allInterceptions.get(proxy);
         if (interceptions != null) {
-            MethodCall<Method> matcherMethodCall = MockUtils
-                    .getStoredMatcherMethodCall(qualifiedMethodCall.getMethodCall(), interceptions.keySet());
-            if (matcherMethodCall != null) {
-                Stub stub = interceptions.get(matcherMethodCall).poll();
+            MethodStubs methodStubs = interceptions.get(qualifiedMethodCall.getMethodCall().getMethod());
+            Queue<Stub> stubs = methodStubs == null ? null : methodStubs.getStubs(qualifiedMethodCall.getMethodCall());
+            if (stubs != null) {
+                Stub stub = stubs.poll();
                 if (stub != null) {
                     if (stub.stubType == StubType.THROWS) {
                         throw (Throwable) stub.stubValue;
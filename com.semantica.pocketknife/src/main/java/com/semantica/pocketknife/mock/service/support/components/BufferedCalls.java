@@ -0,0 +1,31 @@
+package com.semantica.pocketknife.mock.service.support.components;
+
+import com.semantica.pocketknife.calls.MethodCall;
+
+/**
+ * Calls registry that can accept calls from any thread by buffering them in a
+ * lock-free queue. Buffered calls are registered (in the order they were
+ * buffered) on the thread that verifies the calls, so the registry itself is
+ * only ever accessed from that thread.
+ *
+ * @author A. Haanstra
+ *
+ * @param <T> The method key class
+ */
+public interface BufferedCalls<T> {
+
+	/**
+	 * Buffers the call, capturing its stack trace on the invoking thread. This
+	 * method may be invoked concurrently from any thread.
+	 *
+	 * @param methodCall The method call to register later
+	 */
+	public void bufferCall(MethodCall<T> methodCall);
+
+	/**
+	 * Registers all buffered calls. This method should be invoked from the thread
+	 * that verifies the calls, before verifying them.
+	 */
+	public void registerBufferedCalls();
+
+}
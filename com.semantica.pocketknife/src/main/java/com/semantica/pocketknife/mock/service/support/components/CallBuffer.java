@@ -0,0 +1,41 @@
+package com.semantica.pocketknife.mock.service.support.components;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import com.semantica.pocketknife.calls.MethodCall;
+import com.semantica.pocketknife.util.Tuple;
+
+/**
+ * Lock-free queue of method calls (with their captured stack traces) that are
+ * waiting to be registered, shared by the {@link BufferedCalls}
+ * implementations.
+ *
+ * @author A. Haanstra
+ *
+ * @param <T> The method key class
+ */
+class CallBuffer<T> {
+
+	private final Queue<Tuple<MethodCall<T>, Supplier<StackTraceElement[]>>> bufferedCalls = new ConcurrentLinkedQueue<>();
+
+	void buffer(MethodCall<T> methodCall, Supplier<StackTraceElement[]> stackTrace) {
+		bufferedCalls.offer(new Tuple<>(methodCall, stackTrace));
+	}
+
+	/**
+	 * Passes all buffered calls to the registration, in the order they were
+	 * buffered, and removes them from the buffer.
+	 *
+	 * @param registration Registers a method call with its stack trace
+	 */
+	void registerAll(BiConsumer<MethodCall<T>, Supplier<StackTraceElement[]>> registration) {
+		Tuple<MethodCall<T>, Supplier<StackTraceElement[]>> bufferedCall;
+		while ((bufferedCall = bufferedCalls.poll()) != null) {
+			registration.accept(bufferedCall.getS(), bufferedCall.getT());
+		}
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.semantica.pocketknife.mock.service.support.components;
+
+/**
+ * Invokes a single, fixed interface method on a delegate.
+ *
+ * @author A. Haanstra
+ *
+ */
+@FunctionalInterface
+public interface DelegateInvoker {
+
+	/**
+	 * Invokes the method on the delegate.
+	 *
+	 * @param delegate The delegate (an instance of the method's interface)
+	 * @param args     The arguments of the method
+	 * @return The (boxed) return value of the method, null for void methods
+	 * @throws Throwable Any Throwable thrown by the delegate
+	 */
+	public Object invoke(Object delegate, Object[] args) throws Throwable;
+
+}
@@ -0,0 +1,110 @@
+package com.semantica.pocketknife.mock.service.support.components;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.semantica.pocketknife.methodrecorder.dynamicproxies.ClassLoadingStrategyFinder;
+import com.semantica.pocketknife.methodrecorder.dynamicproxies.Dummy;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatchers;
+
+/**
+ * Factory for {@link DelegateInvoker}s. For a public interface method, the
+ * invoker is a generated class that calls the method directly (casting the
+ * delegate and unboxing the arguments), so the JIT can inline the call to the
+ * delegate. Otherwise, or if the class cannot be generated, the invoker uses a
+ * {@link MethodHandle}. Invokers are generated once per method and cached.
+ * Generated invokers are defined as hidden classes if requested (see
+ * {@link ClassLoadingStrategyFinder#HIDDEN_CLASSES_PROPERTY}).
+ *
+ * @author A. Haanstra
+ *
+ */
+public class DelegateInvokers {
+
+	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(DelegateInvokers.class);
+	private static final MethodType GENERIC_INVOKER_TYPE = MethodType.methodType(Object.class, Object.class,
+			Object[].class);
+	// key: the interface declaring the methods
+	private static final ClassValue<Map<Method, DelegateInvoker>> INVOKERS = new ClassValue<>() {
+		@Override
+		protected Map<Method, DelegateInvoker> computeValue(Class<?> interfaze) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private DelegateInvokers() {
+		super();
+	}
+
+	public static DelegateInvoker get(Method method) {
+		return INVOKERS.get(method.getDeclaringClass()).computeIfAbsent(method, DelegateInvokers::createInvoker);
+	}
+
+	private static DelegateInvoker createInvoker(Method method) {
+		ClassLoadingStrategyFinder<Dummy> strategyFinder = new ClassLoadingStrategyFinder<>(Dummy.class);
+		if (isPublic(method.getDeclaringClass())
+				&& isVisibleFrom(method.getDeclaringClass(), strategyFinder.getClassLoader())) {
+			try {
+				return generateInvoker(method, strategyFinder);
+			} catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+				log.debug("Cannot generate delegate invoker for method {}, using a method handle instead.", method, e);
+			}
+		}
+		return methodHandleInvoker(method);
+	}
+
+	private static boolean isPublic(Class<?> clazz) {
+		for (Class<?> enclosingClass = clazz; enclosingClass != null; enclosingClass = enclosingClass
+				.getEnclosingClass()) {
+			if (!Modifier.isPublic(enclosingClass.getModifiers())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isVisibleFrom(Class<?> clazz, ClassLoader classLoader) {
+		try {
+			return Class.forName(clazz.getName(), false, classLoader) == clazz;
+		} catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	private static DelegateInvoker generateInvoker(Method method, ClassLoadingStrategyFinder<Dummy> strategyFinder)
+			throws ReflectiveOperationException {
+		ClassLoadingStrategy<ClassLoader> strategy = strategyFinder
+				.getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage(true);
+		return new ByteBuddy().subclass(DelegateInvoker.class)
+				.name(strategyFinder.getTargetClassNameUniqueForTargetClassMatchingStrategy(method.getDeclaringClass(),
+						"DelegateInvoker"))
+				.method(ElementMatchers.named("invoke"))
+				.intercept(MethodCall.invoke(method).onArgument(0)
+						.withArgumentArrayElements(1, method.getParameterCount())
+						.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC))
+				.make().load(strategyFinder.getClassLoader(), strategy).getLoaded().getConstructor().newInstance();
+	}
+
+	private static DelegateInvoker methodHandleInvoker(Method method) {
+		MethodHandle methodHandle;
+		try {
+			method.trySetAccessible();
+			methodHandle = MethodHandles.lookup().unreflect(method)
+					.asSpreader(Object[].class, method.getParameterCount()).asType(GENERIC_INVOKER_TYPE);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(String.format("Cannot access delegated method %s.", method), e);
+		}
+		return (delegate, args) -> (Object) methodHandle.invokeExact(delegate, args);
+	}
+
+}
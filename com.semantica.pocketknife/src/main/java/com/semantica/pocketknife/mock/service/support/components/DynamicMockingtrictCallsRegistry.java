@@ -1,15 +1,22 @@
 package com.semantica.pocketknife.mock.service.support.components;
 
 import com.semantica.pocketknife.calls.MethodCall;
+import com.semantica.pocketknife.calls.StackTraceCapture;
 import com.semantica.pocketknife.calls.StrictCallsRegistry;
-import com.semantica.pocketknife.util.TestUtils;
 
-public class DynamicMockingtrictCallsRegistry<T> extends StrictCallsRegistry<T> {
+public class DynamicMockingtrictCallsRegistry<T> extends StrictCallsRegistry<T> implements BufferedCalls<T> {
+
+	private static final int FRAMES_TO_PROXY_METHOD = 3;
+	private final CallBuffer<T> callBuffer = new CallBuffer<>();
 
 	public DynamicMockingtrictCallsRegistry(Class<T> methodClass) {
 		super(methodClass);
 	}
 
+	public DynamicMockingtrictCallsRegistry(Class<T> methodClass, StackTraceCapture stackTraceCapture) {
+		super(methodClass, stackTraceCapture);
+	}
+
 	/*
 	 * The normal use of a calls registry is inside a manually defined mock. Then a
 	 * call is registered right in the called method itself. For an inline mock, it
@@ -23,18 +30,37 @@ public class DynamicMockingtrictCallsRegistry<T> extends StrictCallsRegistry<T>
 	 * Since there is an extra method and we rather don't want to show the
 	 * stacktrace from the point where the call is registered (in the library), we
 	 * use a distance of 2 methods.
+	 *
+	 * Counting from this method, the call is registered 3 frames away from the
+	 * proxy method: this method <- InlineMockerCallVerificationStore.registerCall
+	 * <- InlineMocker$CallHandler.invoke <- $Proxy24.someMethod.
 	 */
 	@Override
 	public void registerCall(T method, Object... args) {
 		requireNonNull(args);
 		MethodCall<T> methodCall = new MethodCall<>(method, args);
-		addStackTraceToCalls(methodCall, TestUtils.getTruncatedStackTrace(2));
+		addCallToCalls(methodCall, FRAMES_TO_PROXY_METHOD);
 	}
 
 	@Override
 	public void registerCall(MethodCall<T> methodCall) {
 		requireNonNull(methodCall.getArgs());
-		addStackTraceToCalls(methodCall, TestUtils.getTruncatedStackTrace(2));
+		addCallToCalls(methodCall, FRAMES_TO_PROXY_METHOD);
+	}
+
+	/*
+	 * Called from the same frame depth as registerCall(..), so the same number of
+	 * frames are skipped.
+	 */
+	@Override
+	public void bufferCall(MethodCall<T> methodCall) {
+		requireNonNull(methodCall.getArgs());
+		callBuffer.buffer(methodCall, captureStackTrace(FRAMES_TO_PROXY_METHOD));
+	}
+
+	@Override
+	public void registerBufferedCalls() {
+		callBuffer.registerAll(this::addCallToCalls);
 	}
 
 }
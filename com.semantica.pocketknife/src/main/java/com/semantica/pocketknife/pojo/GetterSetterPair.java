@@ -2,11 +2,20 @@ package com.semantica.pocketknife.pojo;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 class GetterSetterPair {
 	public final Method getter;
 	public final Method setter;
 	public final Field correspondingField;
+	public final Class<?> setterParameterType;
+	public final String setterParameterName;
+	public final Function<Object, Object> getterAccessor;
+	public final BiConsumer<Object, Object> setterAccessor;
+	// null if there is no corresponding field
+	public final Function<Object, Object> correspondingFieldReader;
 
 	public GetterSetterPair(Method getter, Method setter, Field correspondingField) {
 		this.getter = getter;
@@ -15,5 +24,12 @@ class GetterSetterPair {
 			correspondingField.setAccessible(true);
 		}
 		this.correspondingField = correspondingField;
+		Parameter setterParameter = setter.getParameters()[0];
+		this.setterParameterType = setterParameter.getType();
+		this.setterParameterName = ReflectionUtils.getParameterName(setterParameter, this, null);
+		this.getterAccessor = PropertyAccessors.getter(getter);
+		this.setterAccessor = PropertyAccessors.setter(setter);
+		this.correspondingFieldReader = correspondingField == null ? null
+				: PropertyAccessors.fieldReader(correspondingField);
 	}
 }
@@ -0,0 +1,189 @@
+package com.semantica.pocketknife.pojo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.module.ModuleReader;
+import java.lang.module.ResolvedModule;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.MethodList;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.pool.TypePool;
+
+/**
+ * Discovers POJO classes to test with the {@link ReflectionPojoTester}, in a
+ * package (and its subpackages) or in a named module. Class files are read with
+ * a {@link TypePool}, without loading the classes, and only classes that are
+ * shaped like a POJO are loaded (without initializing them). Classes are
+ * discovered lazily, while the returned stream is consumed.
+ *
+ * A class is shaped like a POJO if it is a public, concrete, top-level or
+ * static nested class with a public no-arguments constructor and at least one
+ * (non-static) field with a public getter and setter declared in the class.
+ *
+ * @author A. Haanstra
+ *
+ */
+public class PojoClassScanner {
+
+	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(PojoClassScanner.class);
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	private final ClassLoader classLoader;
+	private final TypePool typePool;
+
+	/**
+	 * Creates a scanner for classes loaded by the given class loader.
+	 *
+	 * @param classLoader The class loader of the scanned classes
+	 */
+	public PojoClassScanner(ClassLoader classLoader) {
+		super();
+		this.classLoader = classLoader;
+		// JDK types (e.g. super types) are described from their loaded classes, only
+		// class files of other types are parsed.
+		this.typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+				ClassFileLocator.ForClassLoader.of(classLoader), TypePool.Default.ReaderMode.FAST,
+				TypePool.ClassLoading.ofPlatformLoader());
+	}
+
+	/**
+	 * Discovers the POJO classes in the given package and its subpackages, in
+	 * directories and jar files on the class path of the class loader. The
+	 * returned stream should be closed after use.
+	 *
+	 * @param packageName The name of the package to scan
+	 * @return A (lazy) stream of the discovered POJO classes
+	 * @throws IOException If the package's resources cannot be listed
+	 */
+	public Stream<Class<?>> scanPackage(String packageName) throws IOException {
+		String packagePath = packageName.replace('.', '/');
+		List<URL> packageUrls = Collections.list(classLoader.getResources(packagePath));
+		return toPojoClasses(packageUrls.stream().flatMap(url -> listClassFiles(url, packagePath)));
+	}
+
+	/**
+	 * Discovers the POJO classes in the given named module, by listing the
+	 * module's resources. The returned stream should be closed after use.
+	 *
+	 * @param module The module to scan
+	 * @return A (lazy) stream of the discovered POJO classes
+	 * @throws IOException If the module's resources cannot be listed
+	 */
+	public static Stream<Class<?>> scanModule(Module module) throws IOException {
+		if (!module.isNamed() || module.getLayer() == null) {
+			throw new IllegalArgumentException(String.format("Cannot scan unnamed or dynamic module %s.", module));
+		}
+		ResolvedModule resolvedModule = module.getLayer().configuration().findModule(module.getName())
+				.orElseThrow(() -> new IllegalArgumentException(String.format("Module %s not resolved.", module)));
+		ModuleReader moduleReader = resolvedModule.reference().open();
+		Stream<String> classFiles = moduleReader.list()
+				.filter(resource -> resource.endsWith(CLASS_FILE_EXTENSION) && !resource.contains("-"))
+				.onClose(() -> close(moduleReader));
+		return new PojoClassScanner(module.getClassLoader()).toPojoClasses(classFiles);
+	}
+
+	private Stream<Class<?>> toPojoClasses(Stream<String> classFiles) {
+		return classFiles
+				.map(classFile -> classFile.substring(0, classFile.length() - CLASS_FILE_EXTENSION.length())
+						.replace('/', '.'))
+				.filter(this::isPojoShaped).map(this::loadClass);
+	}
+
+	private static Stream<String> listClassFiles(URL packageUrl, String packagePath) {
+		try {
+			switch (packageUrl.getProtocol()) {
+			case "file":
+				Path packageDirectory = Paths.get(packageUrl.toURI());
+				String separator = packageDirectory.getFileSystem().getSeparator();
+				return Files.walk(packageDirectory).filter(path -> isClassFile(path.getFileName().toString()))
+						.map(path -> packagePath + "/"
+								+ packageDirectory.relativize(path).toString().replace(separator, "/"));
+			case "jar":
+				JarURLConnection connection = (JarURLConnection) packageUrl.openConnection();
+				connection.setUseCaches(false);
+				JarFile jarFile = connection.getJarFile();
+				return jarFile.stream().map(JarEntry::getName)
+						.filter(name -> name.startsWith(packagePath + "/") && isClassFile(name))
+						.onClose(() -> close(jarFile));
+			default:
+				log.warn("Cannot scan {}: unsupported protocol.", packageUrl);
+				return Stream.empty();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (URISyntaxException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	/*
+	 * Excludes module-info and package-info class files.
+	 */
+	private static boolean isClassFile(String fileName) {
+		return fileName.endsWith(CLASS_FILE_EXTENSION) && !fileName.contains("-");
+	}
+
+	private static void close(AutoCloseable closeable) {
+		try {
+			closeable.close();
+		} catch (Exception e) {
+			log.warn("Cannot close {}.", closeable, e);
+		}
+	}
+
+	boolean isPojoShaped(String className) {
+		TypePool.Resolution resolution = typePool.describe(className);
+		if (!resolution.isResolved()) {
+			log.debug("Cannot describe class {}.", className);
+			return false;
+		}
+		TypeDescription type = resolution.resolve();
+		if (!type.isPublic() || type.isInterface() || type.isAbstract() || type.isEnum() || type.isAnnotation()
+				|| type.isAnonymousType() || type.isLocalType() || type.isMemberType() && !type.isStatic()) {
+			return false;
+		}
+		MethodList<MethodDescription.InDefinedShape> methods = type.getDeclaredMethods();
+		if (methods.filter(ElementMatchers.isConstructor().and(ElementMatchers.isPublic())
+				.and(ElementMatchers.takesArguments(0))).isEmpty()) {
+			return false;
+		}
+		for (FieldDescription field : type.getDeclaredFields().filter(ElementMatchers.not(ElementMatchers.isStatic()))) {
+			String name = field.getName();
+			String capitalizedName = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+			TypeDescription fieldType = field.getType().asErasure();
+			String getterName = (fieldType.represents(boolean.class) ? "is" : "get") + capitalizedName;
+			boolean hasGetter = !methods.filter(ElementMatchers.named(getterName).and(ElementMatchers.isPublic())
+					.and(ElementMatchers.takesArguments(0))).isEmpty();
+			boolean hasSetter = !methods.filter(ElementMatchers.named("set" + capitalizedName)
+					.and(ElementMatchers.isPublic()).and(ElementMatchers.takesArguments(fieldType))).isEmpty();
+			if (hasGetter && hasSetter) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Class<?> loadClass(String className) {
+		try {
+			return Class.forName(className, false, classLoader);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException(String.format("Cannot load described class %s.", className), e);
+		}
+	}
+
+}
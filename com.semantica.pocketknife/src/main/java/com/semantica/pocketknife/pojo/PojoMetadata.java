@@ -0,0 +1,180 @@
+package com.semantica.pocketknife.pojo;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The result of the reflective analysis of a POJO class by the
+ * {@link ReflectionPojoTester}: its default and custom getter-setter pairs and
+ * its constructors with their parameter names. The analysis is done once per
+ * class and cached.
+ *
+ * @author A. Haanstra
+ *
+ */
+class PojoMetadata {
+
+	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(PojoMetadata.class);
+	private static final List<String> IGNORED_FIELD_NAMES = Arrays.asList("serialVersionUID");
+	private static final ClassValue<PojoMetadata> CACHE = new ClassValue<>() {
+		@Override
+		protected PojoMetadata computeValue(Class<?> type) {
+			return new PojoMetadata(type);
+		}
+	};
+	// cached apart from the metadata, so that constructing test values does not
+	// scan the getters and setters of the constructed classes
+	private static final ClassValue<List<ConstructorPlan>> CONSTRUCTOR_PLANS = new ClassValue<>() {
+		@Override
+		protected List<ConstructorPlan> computeValue(Class<?> type) {
+			List<ConstructorPlan> constructorPlans = new ArrayList<>();
+			for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+				constructorPlans.add(new ConstructorPlan(constructor));
+			}
+			return Collections.unmodifiableList(constructorPlans);
+		}
+	};
+
+	static class ConstructorPlan {
+		public final Constructor<?> constructor;
+		public final Class<?>[] parameterTypes;
+		public final String[] parameterNames;
+
+		public ConstructorPlan(Constructor<?> constructor) {
+			this.constructor = constructor;
+			Parameter[] parameters = constructor.getParameters();
+			this.parameterTypes = constructor.getParameterTypes();
+			this.parameterNames = new String[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				String fallBackParameterName = parameters[i].getName();
+				parameterNames[i] = ReflectionUtils.getParameterName(parameters[i], null, fallBackParameterName);
+			}
+		}
+	}
+
+	public final List<GetterSetterPair> defaultGetterSetterPairs;
+	public final List<GetterSetterPair> customGetterSetterPairs;
+	public final List<ConstructorPlan> constructorPlans;
+
+	private PojoMetadata(Class<?> myClass) {
+		Field[] fields = myClass.getDeclaredFields();
+		this.defaultGetterSetterPairs = Collections
+				.unmodifiableList(getDefaultGettersAndSetters(myClass, fields, myClass.getMethods()));
+		this.customGetterSetterPairs = Collections
+				.unmodifiableList(getCustomGettersAndSetters(myClass, fields, myClass.getDeclaredMethods()));
+		this.constructorPlans = constructorPlansOf(myClass);
+	}
+
+	/**
+	 * Returns the (cached) metadata of the given POJO class.
+	 *
+	 * @param myClass The POJO class
+	 * @return The metadata of the class
+	 */
+	public static PojoMetadata of(Class<?> myClass) {
+		return CACHE.get(myClass);
+	}
+
+	/**
+	 * Returns the (cached) constructor plans of the given class, without analyzing
+	 * its getters and setters.
+	 *
+	 * @param myClass The class
+	 * @return The plans of the declared constructors of the class
+	 */
+	public static List<ConstructorPlan> constructorPlansOf(Class<?> myClass) {
+		return CONSTRUCTOR_PLANS.get(myClass);
+	}
+
+	private static List<GetterSetterPair> getDefaultGettersAndSetters(Class<?> myClass, Field[] fields,
+			Method[] publicMethods) {
+		Map<String, List<Method>> publicMethodsByName = groupByName(publicMethods);
+		List<GetterSetterPair> getterSetterPairs = new ArrayList<GetterSetterPair>();
+		for (Field field : fields) {
+			String name = field.getName();
+			if (IGNORED_FIELD_NAMES.contains(name)) {
+				continue;
+			}
+			String capitalizedName = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+			String getterName = (field.getType().equals(boolean.class) ? "is" : "get") + capitalizedName;
+			Method getter = findMethod(publicMethodsByName, getterName);
+			Method setter = findMethod(publicMethodsByName, "set" + capitalizedName, field.getType());
+			if (getter != null && setter != null) {
+				getterSetterPairs.add(new GetterSetterPair(getter, setter, field));
+			} else {
+				log.error("Encountered an error while getting *default* getters and setters from class {}: no {} found.",
+						myClass, getter == null ? getterName + "()" : "set" + capitalizedName + "(..)");
+			}
+		}
+		return getterSetterPairs;
+	}
+
+	private static List<GetterSetterPair> getCustomGettersAndSetters(Class<?> myClass, Field[] fields,
+			Method[] declaredMethods) {
+		Map<String, List<Method>> declaredMethodsByName = groupByName(declaredMethods);
+		Set<String> fieldNames = new HashSet<>();
+		for (Field f : fields) {
+			fieldNames.add(f.getName());
+		}
+		List<GetterSetterPair> customGetterSetterPairs = new ArrayList<GetterSetterPair>();
+		for (Method setter : declaredMethods) {
+			String methodName = setter.getName();
+			if (methodName.startsWith("set")) {
+				assert setter.getParameterCount() == 1;
+				String capitalizedName = methodName.substring(3);
+				String expectedFieldName = Character.toLowerCase(capitalizedName.charAt(0))
+						+ capitalizedName.substring(1);
+				if (!fieldNames.contains(expectedFieldName)) {
+					String getterName = (setter.getParameterTypes()[0].equals(boolean.class) ? "is" : "get")
+							+ capitalizedName;
+					Method getter = findMethod(declaredMethodsByName, getterName);
+					if (getter != null) {
+						customGetterSetterPairs.add(new GetterSetterPair(getter, setter, null));
+					} else {
+						log.error(
+								"Encountered an error while getting *custom* getters and setters from class {}: no {} found.",
+								myClass, getterName + "()");
+					}
+				}
+			}
+		}
+		return customGetterSetterPairs;
+	}
+
+	private static Map<String, List<Method>> groupByName(Method[] methods) {
+		Map<String, List<Method>> methodsByName = new HashMap<>();
+		for (Method method : methods) {
+			methodsByName.computeIfAbsent(method.getName(), name -> new ArrayList<>()).add(method);
+		}
+		return methodsByName;
+	}
+
+	/*
+	 * Like Class.getMethod(..) and Class.getDeclaredMethod(..), but without
+	 * throwing if there is no such method: of several methods with the same
+	 * signature (bridge methods of covariant overrides), the one with the most
+	 * specific return type is returned.
+	 */
+	private static Method findMethod(Map<String, List<Method>> methodsByName, String name,
+			Class<?>... parameterTypes) {
+		Method found = null;
+		for (Method method : methodsByName.getOrDefault(name, Collections.emptyList())) {
+			if (Arrays.equals(method.getParameterTypes(), parameterTypes) && (found == null
+					|| found.getReturnType().isAssignableFrom(method.getReturnType()) && !method.isBridge())) {
+				found = method;
+			}
+		}
+		return found;
+	}
+
+}
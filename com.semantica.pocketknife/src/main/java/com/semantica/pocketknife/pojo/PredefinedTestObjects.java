@@ -1,9 +1,35 @@
 package com.semantica.pocketknife.pojo;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 
 public class PredefinedTestObjects {
 
 	public static final LocalDate LOCAL_DATE = LocalDate.ofEpochDay(0);
+	public static final LocalTime LOCAL_TIME = LocalTime.NOON;
+	public static final LocalDateTime LOCAL_DATE_TIME = LocalDateTime.of(LOCAL_DATE, LOCAL_TIME);
+	public static final ZoneOffset ZONE_OFFSET = ZoneOffset.ofHours(1);
+	public static final ZoneId ZONE_ID = ZoneId.of("Europe/Amsterdam");
+	public static final OffsetTime OFFSET_TIME = OffsetTime.of(LOCAL_TIME, ZONE_OFFSET);
+	public static final OffsetDateTime OFFSET_DATE_TIME = OffsetDateTime.of(LOCAL_DATE_TIME, ZONE_OFFSET);
+	public static final ZonedDateTime ZONED_DATE_TIME = ZonedDateTime.of(LOCAL_DATE_TIME, ZONE_ID);
+	public static final Instant INSTANT = OFFSET_DATE_TIME.toInstant();
+	public static final Duration DURATION = Duration.ofMinutes(90);
+	public static final Period PERIOD = Period.of(1, 2, 3);
+	public static final Year YEAR = Year.of(1970);
+	public static final YearMonth YEAR_MONTH = YearMonth.of(1970, 1);
+	public static final MonthDay MONTH_DAY = MonthDay.of(1, 1);
 
 }
@@ -0,0 +1,139 @@
+package com.semantica.pocketknife.pojo;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Factory for compiled property accessors: getters and setters (and field
+ * readers) as {@link Function}s and {@link BiConsumer}s that do not need access
+ * checks and argument arrays on every invocation, like
+ * {@link Method#invoke(Object, Object...)} does. Getters and setters are
+ * compiled with the {@link LambdaMetafactory}, so the JIT can inline them. If
+ * that is not possible (e.g. because the declaring class is not accessible),
+ * and for field readers, a {@link MethodHandle} is used.
+ *
+ * Compiling an accessor is relatively expensive: accessors should be created
+ * once and reused.
+ *
+ * @author A. Haanstra
+ *
+ */
+public class PropertyAccessors {
+
+	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(PropertyAccessors.class);
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private PropertyAccessors() {
+		super();
+	}
+
+	/**
+	 * Creates an accessor that invokes the given getter on its argument.
+	 *
+	 * @param getter An instance method without parameters
+	 * @return The getter accessor, returning the boxed value of the getter
+	 */
+	@SuppressWarnings("unchecked")
+	public static Function<Object, Object> getter(Method getter) {
+		MethodHandle getterHandle = unreflect(getter);
+		try {
+			MethodHandles.Lookup lookup = privateLookupIn(getter.getDeclaringClass());
+			CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+					GETTER_TYPE, getterHandle, getterHandle.type().wrap().changeReturnType(Object.class));
+			return (Function<Object, Object>) callSite.getTarget().invokeExact();
+		} catch (Throwable e) {
+			log.debug("Cannot compile getter {}, using a method handle instead.", getter, e);
+			return methodHandleGetter(getterHandle.asType(GETTER_TYPE));
+		}
+	}
+
+	/**
+	 * Creates an accessor that invokes the given setter on its first argument with
+	 * its second argument. The return value of the setter, if any, is discarded.
+	 *
+	 * @param setter An instance method with one parameter
+	 * @return The setter accessor, accepting the boxed value of the parameter
+	 */
+	@SuppressWarnings("unchecked")
+	public static BiConsumer<Object, Object> setter(Method setter) {
+		MethodHandle setterHandle = unreflect(setter);
+		try {
+			MethodHandles.Lookup lookup = privateLookupIn(setter.getDeclaringClass());
+			CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept",
+					MethodType.methodType(BiConsumer.class), SETTER_TYPE, setterHandle,
+					setterHandle.type().wrap().changeReturnType(void.class));
+			return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+		} catch (Throwable e) {
+			log.debug("Cannot compile setter {}, using a method handle instead.", setter, e);
+			return methodHandleSetter(setterHandle.asType(SETTER_TYPE));
+		}
+	}
+
+	/**
+	 * Creates an accessor that reads the value of the given (instance) field of its
+	 * argument.
+	 *
+	 * @param field An instance field
+	 * @return The field reader, returning the boxed value of the field
+	 */
+	public static Function<Object, Object> fieldReader(Field field) {
+		try {
+			field.trySetAccessible();
+			return methodHandleGetter(MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE));
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(String.format("Cannot access field %s.", field), e);
+		}
+	}
+
+	private static MethodHandle unreflect(Method method) {
+		try {
+			method.trySetAccessible();
+			return MethodHandles.lookup().unreflect(method);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(String.format("Cannot access method %s.", method), e);
+		}
+	}
+
+	/*
+	 * The lambda class is defined in the declaring class of the accessed method,
+	 * which therefore should be open to this module.
+	 */
+	private static MethodHandles.Lookup privateLookupIn(Class<?> clazz) throws IllegalAccessException {
+		PropertyAccessors.class.getModule().addReads(clazz.getModule());
+		return MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+	}
+
+	private static Function<Object, Object> methodHandleGetter(MethodHandle getterHandle) {
+		return instance -> {
+			try {
+				return (Object) getterHandle.invokeExact(instance);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		};
+	}
+
+	private static BiConsumer<Object, Object> methodHandleSetter(MethodHandle setterHandle) {
+		return (instance, value) -> {
+			try {
+				setterHandle.invokeExact(instance, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,136 @@
+package com.semantica.pocketknife.pojo;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Values for property-based POJO testing (see
+ * {@link ReflectionPojoTester#propertyTest(Class, int, long)}): edge cases and
+ * seeded random values per type. The edge cases of a type are computed once and
+ * shared.
+ *
+ * @author A. Haanstra
+ *
+ */
+class PropertyValues {
+
+	private static final String LONG_STRING = "x".repeat(10_000);
+	private static final Map<Class<?>, List<Object>> EDGE_CASES = new HashMap<>();
+	private static final Map<Class<?>, Function<SplittableRandom, Object>> RANDOM_VALUES = new HashMap<>();
+	static {
+		register(int.class, Integer.class, random -> random.nextInt(), 0, 1, -1, Integer.MIN_VALUE, Integer.MAX_VALUE);
+		register(long.class, Long.class, random -> random.nextLong(), 0L, 1L, -1L, Long.MIN_VALUE, Long.MAX_VALUE,
+				(long) Integer.MAX_VALUE + 1);
+		register(short.class, Short.class, random -> (short) random.nextInt(), (short) 0, (short) -1, Short.MIN_VALUE,
+				Short.MAX_VALUE);
+		register(byte.class, Byte.class, random -> (byte) random.nextInt(), (byte) 0, (byte) -1, Byte.MIN_VALUE,
+				Byte.MAX_VALUE);
+		register(char.class, Character.class, random -> (char) random.nextInt(Character.MAX_VALUE + 1), '\u0000', 'a',
+				'\u00e9', '\ud83d', Character.MAX_VALUE);
+		register(double.class, Double.class, random -> random.nextDouble() * Math.pow(2, random.nextInt(-64, 64)),
+				0.0d, -0.0d, 1.0d, -1.0d, Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY,
+				Double.NEGATIVE_INFINITY);
+		register(float.class, Float.class, random -> (float) (random.nextDouble() * Math.pow(2, random.nextInt(-32, 32))),
+				0.0f, -0.0f, 1.0f, -1.0f, Float.MIN_VALUE, Float.MAX_VALUE, Float.NaN, Float.POSITIVE_INFINITY,
+				Float.NEGATIVE_INFINITY);
+		register(boolean.class, Boolean.class, random -> random.nextBoolean(), true, false);
+		EDGE_CASES.put(String.class, Collections.unmodifiableList(Arrays.asList(null, "", " ", "\u0000",
+				"\u00fcn\u00efc\u00f8d\u00e9", "\u65e5\u672c\u8a9e", "\ud83d\ude00", LONG_STRING)));
+		RANDOM_VALUES.put(String.class, PropertyValues::randomString);
+	}
+
+	private PropertyValues() {
+		super();
+	}
+
+	private static void register(Class<?> primitiveType, Class<?> wrapperType,
+			Function<SplittableRandom, Object> randomValue, Object... edgeCases) {
+		EDGE_CASES.put(primitiveType, Collections.unmodifiableList(Arrays.asList(edgeCases)));
+		List<Object> wrapperEdgeCases = new ArrayList<>(Arrays.asList(edgeCases));
+		wrapperEdgeCases.add(null);
+		EDGE_CASES.put(wrapperType, Collections.unmodifiableList(wrapperEdgeCases));
+		RANDOM_VALUES.put(primitiveType, randomValue);
+		RANDOM_VALUES.put(wrapperType, randomValue);
+	}
+
+	/**
+	 * Returns the edge cases for the given type: minimum and maximum values, zero
+	 * and negative numbers, empty, whitespace and unicode strings, all enum
+	 * constants and null for reference types. For other reference types, these are
+	 * null and the value of the {@link TestValueProvider}.
+	 *
+	 * @param type      The type of the values
+	 * @param valueName The name of the property, used by the
+	 *                  {@link TestValueProvider}
+	 * @return The edge case values
+	 */
+	static List<Object> edgeCases(Class<?> type, String valueName) {
+		List<Object> edgeCases = EDGE_CASES.get(type);
+		if (edgeCases != null) {
+			return edgeCases;
+		} else if (type.isEnum()) {
+			List<Object> enumEdgeCases = new ArrayList<>(Arrays.asList(type.getEnumConstants()));
+			enumEdgeCases.add(null);
+			return enumEdgeCases;
+		} else {
+			return Arrays.asList(null, testValue(type, valueName));
+		}
+	}
+
+	/**
+	 * Returns a random value for the given type. For types without random values
+	 * (other than enums), the value of the {@link TestValueProvider} is returned.
+	 *
+	 * @param type      The type of the value
+	 * @param valueName The name of the property, used by the
+	 *                  {@link TestValueProvider}
+	 * @param random    The source of randomness
+	 * @return The random value
+	 */
+	static Object randomValue(Class<?> type, String valueName, SplittableRandom random) {
+		Function<SplittableRandom, Object> randomValue = RANDOM_VALUES.get(type);
+		if (randomValue != null) {
+			return randomValue.apply(random);
+		} else if (type.isEnum()) {
+			Object[] enumConstants = type.getEnumConstants();
+			return enumConstants[random.nextInt(enumConstants.length)];
+		} else {
+			return testValue(type, valueName);
+		}
+	}
+
+	/*
+	 * Mostly printable ASCII, but also other BMP and supplementary code points.
+	 */
+	private static String randomString(SplittableRandom random) {
+		int length = random.nextInt(17);
+		StringBuilder stringBuilder = new StringBuilder(length * 2);
+		for (int i = 0; i < length; i++) {
+			int kind = random.nextInt(8);
+			if (kind < 6) {
+				stringBuilder.append((char) random.nextInt(0x20, 0x7f));
+			} else if (kind == 6) {
+				stringBuilder.append((char) random.nextInt(0xa0, Character.MIN_SURROGATE));
+			} else {
+				stringBuilder.appendCodePoint(random.nextInt(Character.MIN_SUPPLEMENTARY_CODE_POINT, 0x1fa00));
+			}
+		}
+		return stringBuilder.toString();
+	}
+
+	private static Object testValue(Class<?> type, String valueName) {
+		try {
+			return TestValueProvider.getTestValueForType(type, valueName);
+		} catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchFieldException e) {
+			throw new IllegalStateException(String.format("Cannot create test value of %s.", type), e);
+		}
+	}
+
+}
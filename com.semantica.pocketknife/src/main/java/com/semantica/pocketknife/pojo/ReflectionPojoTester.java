@@ -1,18 +1,28 @@
 package com.semantica.pocketknife.pojo;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+import org.opentest4j.AssertionFailedError;
+import org.opentest4j.MultipleFailuresError;
+
+import com.semantica.pocketknife.pojo.PojoMetadata.ConstructorPlan;
 
 /* TODO: This package was copied from an old project and needs to be checked and refactored to a make it more useful in general.
  * At this moment, it is now expected that the toString, equals and hashcode methods return the value expected from the respective builders
@@ -28,12 +38,14 @@ import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
  * This class needs thorough refactoring and should not be used unless its
  * source is inspected (see TODO).
  *
+ * The reflective analysis of a class (see {@link PojoMetadata}) is cached, so
+ * testing the same class again skips it.
+ *
  * @author A. Haanstra
  *
  */
 public class ReflectionPojoTester {
 	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(ReflectionPojoTester.class);
-	private static final List<String> IGNORED_FIELD_NAMES = Arrays.asList("serialVersionUID");
 
 	/**
 	 * Starts an automated unit test on a {@link List} of POJO classes to see that
@@ -56,6 +68,94 @@ public class ReflectionPojoTester {
 		}
 	}
 
+	/**
+	 * Like {@link #testClassListForGettersSettersAndConstructors(List)}, but tests
+	 * the POJO classes found in the given package and its subpackages (see
+	 * {@link PojoClassScanner}), using the context class loader of the current
+	 * thread. Each class is tested as soon as it is found.
+	 *
+	 * @param packageName The name of the package with POJO classes to test.
+	 * @throws IOException               If the package cannot be scanned
+	 * @throws InstantiationException
+	 * @throws IllegalAccessException
+	 * @throws IllegalArgumentException
+	 * @throws InvocationTargetException
+	 * @throws NoSuchFieldException
+	 * @throws SecurityException
+	 */
+	public static void testPackageForGettersSettersAndConstructors(String packageName)
+			throws IOException, InstantiationException, IllegalAccessException, IllegalArgumentException,
+			InvocationTargetException, NoSuchFieldException, SecurityException {
+		PojoClassScanner pojoClassScanner = new PojoClassScanner(Thread.currentThread().getContextClassLoader());
+		try (Stream<Class<?>> pojoClasses = pojoClassScanner.scanPackage(packageName)) {
+			Iterator<Class<?>> pojoClassIterator = pojoClasses.iterator();
+			while (pojoClassIterator.hasNext()) {
+				reflectionOnFieldsTest(pojoClassIterator.next());
+			}
+		}
+	}
+
+	/**
+	 * Like {@link #testClassListForGettersSettersAndConstructors(List)}, but tests
+	 * the classes in parallel, in the {@link ForkJoinPool#commonPool()}.
+	 *
+	 * @see #testClassListForGettersSettersAndConstructorsInParallel(List,
+	 *      Executor)
+	 * @param pojoClassesToTest A list with POJO class to test.
+	 * @throws MultipleFailuresError If the test of one or more classes failed
+	 */
+	public static void testClassListForGettersSettersAndConstructorsInParallel(List<Class<?>> pojoClassesToTest) {
+		testClassListForGettersSettersAndConstructorsInParallel(pojoClassesToTest, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Like {@link #testClassListForGettersSettersAndConstructors(List)}, but tests
+	 * the classes in parallel, each class in a task executed by the given executor
+	 * (e.g. a {@link ForkJoinPool} with the desired parallelism). All classes are
+	 * tested, also when the test of a class fails: the failures are reported
+	 * together, in the order of the given list.
+	 *
+	 * @param pojoClassesToTest A list with POJO class to test.
+	 * @param executor          The executor that executes the test of each class
+	 * @throws MultipleFailuresError If the test of one or more classes failed
+	 */
+	public static void testClassListForGettersSettersAndConstructorsInParallel(List<Class<?>> pojoClassesToTest,
+			Executor executor) {
+		// each task results in the failure of its class test, or null if it passed
+		List<CompletableFuture<Throwable>> classTests = new ArrayList<>(pojoClassesToTest.size());
+		for (Class<?> c : pojoClassesToTest) {
+			classTests.add(CompletableFuture.supplyAsync(() -> {
+				try {
+					reflectionOnFieldsTest(c);
+					return null;
+				} catch (Exception | AssertionError e) {
+					return e;
+				}
+			}, executor));
+		}
+		List<Throwable> failures = new ArrayList<>();
+		for (int i = 0; i < classTests.size(); i++) {
+			Throwable failure;
+			try {
+				failure = classTests.get(i).get();
+			} catch (ExecutionException e) {
+				failure = e.getCause();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failure = e;
+			}
+			if (failure != null) {
+				failures.add(new AssertionFailedError(
+						String.format("%s: %s", pojoClassesToTest.get(i).getName(), failure), failure));
+			}
+		}
+		if (!failures.isEmpty()) {
+			throw new MultipleFailuresError(
+					String.format("POJO test failed for %d of %d classes", failures.size(), pojoClassesToTest.size()),
+					failures);
+		}
+	}
+
 	/**
 	 * Starts an automated unit test on a single POJO class to see that all getters
 	 * and setters for a POJO are set correctly. Also tests the toString(),
@@ -71,103 +171,115 @@ public class ReflectionPojoTester {
 	 */
 	public static void reflectionOnFieldsTest(Class<?> myClass) throws InstantiationException, IllegalAccessException,
 			IllegalArgumentException, InvocationTargetException, NoSuchFieldException, SecurityException {
-		List<GetterSetterPair> getterSetterPairs = getDefaultGettersAndSetters(myClass);
+		PojoMetadata pojoMetadata = PojoMetadata.of(myClass);
+		List<GetterSetterPair> getterSetterPairs = pojoMetadata.defaultGetterSetterPairs;
 		for (GetterSetterPair getterSetterPair : getterSetterPairs) {
-			log.debug("Getter: " + getterSetterPair.getter.toString() + ", setter: "
-					+ getterSetterPair.setter.toString());
+			log.debug("Getter: {}, setter: {}", getterSetterPair.getter, getterSetterPair.setter);
 		}
 		log.info("{}: Obtained default getter-setter pairs.", myClass);
-		List<GetterSetterPair> customGetterSetterPairs = getCustomGettersAndSetters(myClass);
+		List<GetterSetterPair> customGetterSetterPairs = pojoMetadata.customGetterSetterPairs;
 		for (GetterSetterPair getterSetterPair : customGetterSetterPairs) {
-			log.debug("Getter: " + getterSetterPair.getter.toString() + ", setter: "
-					+ getterSetterPair.setter.toString());
+			log.debug("Getter: {}, setter: {}", getterSetterPair.getter, getterSetterPair.setter);
 		}
 		log.info("{}: Obtained custom getter-setter pairs.", myClass);
 		Object myInstanceAfterSettersInvoked = testGettersAndSetters(getterSetterPairs, myClass, true);
 		log.info("{}: Tested default getter-setter pairs.", myClass);
 		testGettersAndSetters(customGetterSetterPairs, myClass, false);
 		log.info("{}: Tested custom getter-setter pairs.", myClass);
-		testConstructors(myClass);
+		testConstructors(myClass, pojoMetadata.constructorPlans);
 		log.info("{}: Tested constructors.", myClass);
 		Object otherInstanceAfterSettersInvoked = useSettersToCreateInstance(getterSetterPairs, myClass);
 		testToStringHashcodeEqualsMethods(myClass, myInstanceAfterSettersInvoked, otherInstanceAfterSettersInvoked);
 		log.info("{}: Checked toString(), equals() and hashCode() methods.", myClass);
 	}
 
-	private static List<GetterSetterPair> getDefaultGettersAndSetters(Class<?> myClass) {
-		List<Field> fields = Arrays.stream(myClass.getDeclaredFields())
-				.filter(field -> !IGNORED_FIELD_NAMES.contains(field.getName())).collect(Collectors.toList());
-		String name;
-		Method getter;
-		Method setter;
-		List<GetterSetterPair> getterSetterPairs = new ArrayList<GetterSetterPair>();
-		for (Field field : fields) {
-			name = field.getName();
-			StringBuilder nameBuilder = new StringBuilder(name);
-			nameBuilder.setCharAt(0, Character.toUpperCase(name.charAt(0)));
-			try {
-				if (field.getType().equals(boolean.class)) {
-					nameBuilder.insert(0, "is");
-					getter = myClass.getMethod(nameBuilder.toString());
-					nameBuilder.replace(0, 2, "set");
-					setter = myClass.getMethod(nameBuilder.toString(), field.getType());
-					getterSetterPairs.add(new GetterSetterPair(getter, setter, field));
-				} else {
-					nameBuilder.insert(0, "get");
-					getter = myClass.getMethod(nameBuilder.toString());
-					nameBuilder.replace(0, 3, "set");
-					setter = myClass.getMethod(nameBuilder.toString(), field.getType());
-					getterSetterPairs.add(new GetterSetterPair(getter, setter, field));
-				}
-			} catch (NoSuchMethodException | SecurityException e) {
-				log.error("Encountered an error while getting *default* getters and setters from class {}.", myClass,
-						e);
-			}
+	/**
+	 * Starts a property-based test of the default getter-setter pairs of a POJO
+	 * class, with a random seed, which is reported on failure.
+	 *
+	 * @see #propertyTest(Class, int, long)
+	 * @param myClass                 The POJO class to test.
+	 * @param randomValuesPerProperty The number of random values to test per
+	 *                                property, in addition to the edge cases
+	 * @throws MultipleFailuresError If a value did not survive setting and getting
+	 */
+	public static void propertyTest(Class<?> myClass, int randomValuesPerProperty) {
+		propertyTest(myClass, randomValuesPerProperty, ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * Starts a property-based test of the default getter-setter pairs of a POJO
+	 * class: for each property, edge case values (e.g. minimum and maximum values,
+	 * empty and unicode strings, all enum constants and null for reference types)
+	 * and the given number of random values are set with the setter, after which
+	 * the getter should return an equal value. Properties are tested in parallel
+	 * (in the {@link ForkJoinPool#commonPool()}), each with its own random values
+	 * derived from the seed, so a test with the same seed uses the same values.
+	 * All failures are reported together, with the seed.
+	 *
+	 * @param myClass                 The POJO class to test.
+	 * @param randomValuesPerProperty The number of random values to test per
+	 *                                property, in addition to the edge cases
+	 * @param seed                    The seed of the random values
+	 * @throws MultipleFailuresError If a value did not survive setting and getting
+	 */
+	public static void propertyTest(Class<?> myClass, int randomValuesPerProperty, long seed) {
+		List<GetterSetterPair> getterSetterPairs = PojoMetadata.of(myClass).defaultGetterSetterPairs;
+		SplittableRandom seedRandom = new SplittableRandom(seed);
+		SplittableRandom[] randoms = new SplittableRandom[getterSetterPairs.size()];
+		for (int i = 0; i < randoms.length; i++) {
+			randoms[i] = seedRandom.split();
 		}
-		return getterSetterPairs;
+		List<Throwable> failures = IntStream.range(0, getterSetterPairs.size()).parallel()
+				.mapToObj(i -> testProperty(myClass, getterSetterPairs.get(i), randomValuesPerProperty, randoms[i]))
+				.flatMap(List::stream).collect(Collectors.toList());
+		if (!failures.isEmpty()) {
+			throw new MultipleFailuresError(String.format("Property test of %s failed for %d values (seed: %d)",
+					myClass.getName(), failures.size(), seed), failures);
+		}
+		log.info("{}: Tested properties with seed {}.", myClass, seed);
 	}
 
-	private static List<GetterSetterPair> getCustomGettersAndSetters(Class<?> myClass) {
-		Method[] methods = myClass.getDeclaredMethods();
-		Field[] fields = myClass.getDeclaredFields();
-		List<GetterSetterPair> customGetterSetterPairs = new ArrayList<GetterSetterPair>();
-		List<String> fieldNames = new ArrayList<>();
-		for (Field f : fields) {
-			fieldNames.add(f.getName());
+	/*
+	 * All values are set on the same instance.
+	 */
+	private static List<Throwable> testProperty(Class<?> myClass, GetterSetterPair getterSetterPair,
+			int randomValues, SplittableRandom random) {
+		List<Throwable> failures = new ArrayList<>(0);
+		Object myInstance;
+		try {
+			myInstance = myClass.getConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			failures.add(new AssertionFailedError(String.format("Cannot instantiate %s.", myClass.getName()), e));
+			return failures;
 		}
-		Method getter;
-		Method setter;
-		String methodName;
-		for (Method m : methods) {
-			methodName = m.getName();
-			if (methodName.startsWith("set")) {
-				try {
-					setter = m;
-					assert m.getParameterCount() == 1;
-					StringBuilder getterBuilder = new StringBuilder(methodName);
-					getterBuilder.delete(0, 3);
-					String getterName;
-					StringBuilder fieldBuilder = new StringBuilder(getterBuilder);
-					fieldBuilder.setCharAt(0, Character.toLowerCase(fieldBuilder.charAt(0)));
-					String expectedFieldName = fieldBuilder.toString();
-					if (!fieldNames.contains(expectedFieldName)) {
-						if (m.getParameterTypes()[0].equals(boolean.class)) {
-							getterName = getterBuilder.insert(0, "is").toString();
-							getter = myClass.getDeclaredMethod(getterName);
-							customGetterSetterPairs.add(new GetterSetterPair(getter, setter, null));
-						} else {
-							getterName = getterBuilder.insert(0, "get").toString();
-							getter = myClass.getDeclaredMethod(getterName);
-							customGetterSetterPairs.add(new GetterSetterPair(getter, setter, null));
-						}
-					}
-				} catch (NoSuchMethodException | SecurityException e) {
-					log.error("Encountered an error while getting *custom* getters and setters from class {}.", myClass,
-							e);
-				}
+		Class<?> type = getterSetterPair.setterParameterType;
+		String name = getterSetterPair.setterParameterName;
+		for (Object value : PropertyValues.edgeCases(type, name)) {
+			testPropertyValue(myInstance, getterSetterPair, value, failures);
+		}
+		for (int i = 0; i < randomValues; i++) {
+			testPropertyValue(myInstance, getterSetterPair, PropertyValues.randomValue(type, name, random), failures);
+		}
+		return failures;
+	}
+
+	private static void testPropertyValue(Object myInstance, GetterSetterPair getterSetterPair, Object value,
+			List<Throwable> failures) {
+		if (value == null && getterSetterPair.setterParameterType.isPrimitive()) {
+			return;
+		}
+		try {
+			getterSetterPair.setterAccessor.accept(myInstance, value);
+			Object returnValue = getterSetterPair.getterAccessor.apply(myInstance);
+			if (!Objects.equals(value, returnValue)) {
+				failures.add(new AssertionFailedError(String.format("Property %s: set %s, but got %s.",
+						getterSetterPair.setterParameterName, value, returnValue), value, returnValue));
 			}
+		} catch (RuntimeException e) {
+			failures.add(new AssertionFailedError(String.format("Property %s: setting or getting %s threw %s.",
+					getterSetterPair.setterParameterName, value, e), e));
 		}
-		return customGetterSetterPairs;
 	}
 
 	private static Object testGettersAndSetters(List<GetterSetterPair> getterSetterPairs, Class<?> myClass,
@@ -176,16 +288,15 @@ public class ReflectionPojoTester {
 		Object myInstance = myClass.newInstance();
 		assert myInstance != null;
 		for (GetterSetterPair getterSetterPair : getterSetterPairs) {
-			Parameter setterParameter = getterSetterPair.setter.getParameters()[0];
-			String setterParameterName = ReflectionUtils.getParameterName(setterParameter, getterSetterPair, null);
-			Object parameter = TestValueProvider.getTestObjectForParameter(setterParameter, setterParameterName);
-			getterSetterPair.setter.invoke(myInstance, parameter);
-			Object returnValue = getterSetterPair.getter.invoke(myInstance);
+			Object parameter = TestValueProvider.getTestValueForType(getterSetterPair.setterParameterType,
+					getterSetterPair.setterParameterName);
+			getterSetterPair.setterAccessor.accept(myInstance, parameter);
+			Object returnValue = getterSetterPair.getterAccessor.apply(myInstance);
 			if (compareWithFieldValues) {
-				boolean noDefaultValueFound = ReflectionUtils.isNoDefaultValue(getterSetterPair.correspondingField,
-						myInstance);
+				Object fieldObject = getterSetterPair.correspondingFieldReader.apply(myInstance);
+				boolean noDefaultValueFound = ReflectionUtils
+						.isNoDefaultValue(getterSetterPair.correspondingField.getType(), fieldObject);
 				assert noDefaultValueFound;
-				Object fieldObject = getterSetterPair.correspondingField.get(myInstance);
 				if (parameter.equals(fieldObject)) {
 					log.debug("Field value exactly matches the value that was passed to the setter for field: {"
 							+ getterSetterPair.correspondingField + "} and getter: {" + getterSetterPair.getter + "}");
@@ -199,25 +310,23 @@ public class ReflectionPojoTester {
 		return myInstance;
 	}
 
-	private static void testConstructors(Class<?> myClass) throws InstantiationException, IllegalAccessException,
-			IllegalArgumentException, InvocationTargetException, NoSuchFieldException, SecurityException {
+	private static void testConstructors(Class<?> myClass, List<ConstructorPlan> constructorPlans)
+			throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException,
+			NoSuchFieldException, SecurityException {
 		log.debug("Testing constructor for class {}...", myClass);
-		Constructor<?>[] constructors = myClass.getDeclaredConstructors();
 		Object newInstance = null;
-		for (Constructor<?> constructor : constructors) {
-			log.debug("Constructor: " + constructor.toGenericString());
-			Parameter[] parameters = constructor.getParameters();
-
-			Object[] testArguments = new Object[parameters.length];
-			for (int i = 0; i < parameters.length; i++) {
-				String fallBackParameterName = parameters[i].getName();
-				String parameterName = ReflectionUtils.getParameterName(parameters[i], null, fallBackParameterName);
-				log.debug("Creating test Object for constructor parameter: {}", parameters[i].toString());
-				testArguments[i] = TestValueProvider.getTestObjectForParameter(parameters[i], parameterName);
+		for (ConstructorPlan constructorPlan : constructorPlans) {
+			log.debug("Constructor: {}", constructorPlan.constructor);
+			Class<?>[] parameterTypes = constructorPlan.parameterTypes;
+			Object[] testArguments = new Object[parameterTypes.length];
+			for (int i = 0; i < parameterTypes.length; i++) {
+				log.debug("Creating test Object for constructor parameter: {}", constructorPlan.parameterNames[i]);
+				testArguments[i] = TestValueProvider.getTestValueForType(parameterTypes[i],
+						constructorPlan.parameterNames[i]);
 			}
-			newInstance = constructor.newInstance(testArguments);
+			newInstance = constructorPlan.constructor.newInstance(testArguments);
 			assert newInstance != null;
-			if (parameters.length != 0) {
+			if (parameterTypes.length != 0) {
 				assert ReflectionUtils.allFieldsInitialized(newInstance);
 			} else {
 				log.debug("Skipping no-arguments constructor...");
@@ -231,11 +340,9 @@ public class ReflectionPojoTester {
 		Object myInstance = myClass.newInstance();
 		assert myInstance != null;
 		for (GetterSetterPair getterSetterPair : getterSetterPairs) {
-			Parameter setterParameter = getterSetterPair.setter.getParameters()[0];
-			String setterParameterName = ReflectionUtils.getParameterName(setterParameter, getterSetterPair, null);
-			Object parameter = TestValueProvider.getTestObjectForParameter(setterParameter, setterParameterName);
-			getterSetterPair.setter.invoke(myInstance, parameter);
-			Object returnValue = getterSetterPair.getter.invoke(myInstance);
+			Object parameter = TestValueProvider.getTestValueForType(getterSetterPair.setterParameterType,
+					getterSetterPair.setterParameterName);
+			getterSetterPair.setterAccessor.accept(myInstance, parameter);
 		}
 		return myInstance;
 	}
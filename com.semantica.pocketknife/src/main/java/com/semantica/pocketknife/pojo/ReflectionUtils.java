@@ -46,8 +46,10 @@ class ReflectionUtils {
 			throws IllegalArgumentException, IllegalAccessException {
 		field.setAccessible(true);
 		log.debug("Checking field for default value: {}", field.toGenericString());
-		Class<?> fieldType = field.getType();
-		Object fieldObject = field.get(enclosingClassInstance);
+		return isNoDefaultValue(field.getType(), field.get(enclosingClassInstance));
+	}
+
+	public static boolean isNoDefaultValue(Class<?> fieldType, Object fieldObject) {
 		if ((fieldType == boolean.class || fieldType == Boolean.class) && Boolean.FALSE.equals(fieldObject)) {
 			return false; // fail
 		} else if (fieldType.isPrimitive() && fieldType != boolean.class && ((Number) fieldObject).doubleValue() == 0) {
@@ -0,0 +1,34 @@
+package com.semantica.pocketknife.pojo;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Generates test values of a type for the {@link TestValueProvider}. Generators
+ * for additional types can be registered with
+ * {@link TestValueProvider#registerGenerator(Class, TestValueGenerator)}.
+ *
+ * @author A. Haanstra
+ *
+ * @param <T> The type of the generated values
+ */
+@FunctionalInterface
+public interface TestValueGenerator<T> {
+
+	/**
+	 * Generates a test value. The value should not be the default value of the
+	 * type (e.g. null or 0), and preferably depends on the name of the variable
+	 * that is assigned the value, so that different variables get different
+	 * values.
+	 *
+	 * @param variableName The name of the variable (field or parameter) the value
+	 *                     is generated for
+	 * @return The test value
+	 * @throws InstantiationException
+	 * @throws IllegalAccessException
+	 * @throws InvocationTargetException
+	 * @throws NoSuchFieldException
+	 */
+	public T generate(String variableName)
+			throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException;
+
+}
@@ -3,19 +3,131 @@ package com.semantica.pocketknife.pojo;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Provides test values for types, using a registry of
+ * {@link TestValueGenerator}s. Generators are registered for the primitive
+ * types and their wrappers, String, Optional, the collection interfaces and
+ * the types of the constants in {@link PredefinedTestObjects} (e.g. the
+ * java.time types). Additional generators can be registered with
+ * {@link #registerGenerator(Class, TestValueGenerator)}. For enums the first
+ * enum constant is used, and other classes are constructed with their
+ * constructor with the most parameters, recursively using test values for the
+ * parameters.
+ *
+ * The generator of a class (including the chosen constructor and its parameters
+ * for other classes) is determined once and cached.
+ *
+ * @author A. Haanstra
+ *
+ */
 public class TestValueProvider {
 
 	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(TestValueProvider.class);
 
-	private static final Map<Class<?>, Field> PREDEFINED_TEST_OBJECTS_FIELDS = Arrays
-			.stream(PredefinedTestObjects.class.getDeclaredFields())
-			.collect(Collectors.toMap(field -> field.getType(), Function.identity()));
+	private static final Map<Class<?>, TestValueGenerator<?>> REGISTERED_GENERATORS = new ConcurrentHashMap<>();
+	private static final ClassValue<TestValueGenerator<?>> GENERATORS = new ClassValue<>() {
+		@Override
+		protected TestValueGenerator<?> computeValue(Class<?> type) {
+			return createGenerator(type);
+		}
+	};
+	static {
+		registerBuiltInGenerators();
+		registerPredefinedTestObjects();
+	}
+
+	private static void registerBuiltInGenerators() {
+		REGISTERED_GENERATORS.put(String.class, TestValueProvider::getTestValueForFieldName);
+		register(int.class, Integer.class, name -> getIntegerHashCodeForFieldName(name));
+		register(long.class, Long.class, name -> (long) getIntegerHashCodeForFieldName(name));
+		register(boolean.class, Boolean.class, name -> Boolean.TRUE);
+		register(short.class, Short.class, name -> (short) (getIntegerHashCodeForFieldName(name) | 1));
+		register(byte.class, Byte.class, name -> (byte) (getIntegerHashCodeForFieldName(name) | 1));
+		register(char.class, Character.class,
+				name -> (char) ('a' + Math.floorMod(getIntegerHashCodeForFieldName(name), 26)));
+		register(double.class, Double.class, name -> getIntegerHashCodeForFieldName(name) / 8d);
+		register(float.class, Float.class, name -> getIntegerHashCodeForFieldName(name) / 8f);
+		REGISTERED_GENERATORS.put(Optional.class, name -> Optional.of(getTestValueForFieldName(name)));
+		TestValueGenerator<List<String>> listGenerator = name -> Arrays.asList("test", name);
+		REGISTERED_GENERATORS.put(List.class, listGenerator);
+		REGISTERED_GENERATORS.put(Collection.class, listGenerator);
+		REGISTERED_GENERATORS.put(Iterable.class, listGenerator);
+		REGISTERED_GENERATORS.put(Set.class, name -> new HashSet<>(listGenerator.generate(name)));
+		REGISTERED_GENERATORS.put(SortedSet.class, name -> new TreeSet<>(listGenerator.generate(name)));
+		REGISTERED_GENERATORS.put(NavigableSet.class, name -> new TreeSet<>(listGenerator.generate(name)));
+		REGISTERED_GENERATORS.put(Queue.class, name -> new ArrayDeque<>(listGenerator.generate(name)));
+		REGISTERED_GENERATORS.put(Deque.class, name -> new ArrayDeque<>(listGenerator.generate(name)));
+		TestValueGenerator<Map<String, String>> mapGenerator = name -> new HashMap<>(
+				Map.of(name, getTestValueForFieldName(name)));
+		REGISTERED_GENERATORS.put(Map.class, mapGenerator);
+		REGISTERED_GENERATORS.put(SortedMap.class, name -> new TreeMap<>(mapGenerator.generate(name)));
+		REGISTERED_GENERATORS.put(NavigableMap.class, name -> new TreeMap<>(mapGenerator.generate(name)));
+	}
+
+	private static <T> void register(Class<?> primitiveType, Class<T> wrapperType, TestValueGenerator<T> generator) {
+		REGISTERED_GENERATORS.put(primitiveType, generator);
+		REGISTERED_GENERATORS.put(wrapperType, generator);
+	}
+
+	private static void registerPredefinedTestObjects() {
+		for (Field field : PredefinedTestObjects.class.getDeclaredFields()) {
+			if (Modifier.isStatic(field.getModifiers())) {
+				try {
+					Object predefinedTestObject = field.get(null);
+					REGISTERED_GENERATORS.put(field.getType(), name -> predefinedTestObject);
+				} catch (IllegalAccessException e) {
+					log.error("Cannot read predefined test object {}.", field, e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Registers a generator for test values of the given type, replacing the
+	 * generator that was registered or determined for the type before. Values of
+	 * the type are only generated for variables declared with exactly this type.
+	 *
+	 * @param <T>       The type of the generated values
+	 * @param type      The type of the generated values
+	 * @param generator The generator
+	 */
+	public static <T> void registerGenerator(Class<T> type, TestValueGenerator<? extends T> generator) {
+		REGISTERED_GENERATORS.put(type, generator);
+		GENERATORS.remove(type);
+	}
+
+	/**
+	 * Removes the generator registered for the given type, after which the
+	 * generator of the type is determined again as if none was registered. Meant
+	 * for tests that register a generator temporarily.
+	 *
+	 * @param type The type of the generated values
+	 */
+	static void unregisterGenerator(Class<?> type) {
+		REGISTERED_GENERATORS.remove(type);
+		GENERATORS.remove(type);
+	}
 
 	public static Object getTestObjectForParameter(Parameter parameter, String parameterName)
 			throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException,
@@ -23,42 +135,24 @@ public class TestValueProvider {
 		return getTestValueForType(parameter.getType(), parameterName);
 	}
 
-	/*
-	 * Work in progress: not all types implemented yet!
-	 */
 	@SuppressWarnings("unchecked")
 	public static <T> T getTestValueForType(Class<? extends T> clazz, String variableName)
 			throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException,
 			NoSuchFieldException, SecurityException {
-		String simpleTypeName = clazz.getSimpleName();
-		switch (simpleTypeName) {
-		case "String":
-			return (T) getTestValueForFieldName(variableName);
-		case "long": // long.class instanceof Class<Integer>
-			return (T) (Long) (long) getIntegerHashCodeForFieldName(variableName);
-		case "int": // int.class instanceof Class<Integer>
-			return (T) (Integer) getIntegerHashCodeForFieldName(variableName);
-		case "boolean":
-			return (T) Boolean.TRUE;
-		case "List":
-			return (T) Arrays.asList("test", variableName);
-		default:
-			if (clazz.isEnum()) {
-				log.debug("Using first enum constant for enum: {}", clazz.getName());
-				return clazz.getEnumConstants()[0];
-			} else {
-				log.debug("Trying to construct object for class: {}", clazz.getName());
-				try {
-					return getTestObjectForPojoClass(clazz, false);
-				} catch (NoConstructorFoundException e) {
-					log.debug("No accessible constructor found for class {}", clazz);
-					try {
-						return getPredefinedTestObjectForClass(clazz);
-					} catch (ObjectNotConstructedException e1) {
-						return getTestObjectForPojoClass(clazz, true);
-					}
-				}
-			}
+		return (T) GENERATORS.get(clazz).generate(variableName);
+	}
+
+	private static TestValueGenerator<?> createGenerator(Class<?> clazz) {
+		TestValueGenerator<?> registeredGenerator = REGISTERED_GENERATORS.get(clazz);
+		if (registeredGenerator != null) {
+			return registeredGenerator;
+		} else if (clazz.isEnum()) {
+			log.debug("Using first enum constant for enum: {}", clazz.getName());
+			Object firstEnumConstant = clazz.getEnumConstants()[0];
+			return name -> firstEnumConstant;
+		} else {
+			log.debug("Constructing objects for class {} with its constructor with most parameters.", clazz.getName());
+			return new ConstructingGenerator(clazz);
 		}
 	}
 
@@ -70,43 +164,46 @@ public class TestValueProvider {
 		return ("test" + name.substring(0, 1).toUpperCase() + name.substring(1)).hashCode();
 	}
 
-	private static <T> T getTestObjectForPojoClass(Class<? extends T> clazz, boolean forceConstructorAccessible)
-			throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException,
-			NoSuchFieldException, SecurityException {
-		Constructor<?> constructorWithMostParameters = Arrays.stream(clazz.getDeclaredConstructors())
-				.filter(c -> forceConstructorAccessible || c.isAccessible())
-				.max((c1, c2) -> (int) Math.signum(c1.getParameterCount() - c2.getParameterCount())).orElseThrow(
-						() -> new NoConstructorFoundException("No constructor found for class " + clazz.getName()));
-		log.debug("Constructor with most parameters: {}", constructorWithMostParameters.toGenericString());
-		Parameter[] parameters = constructorWithMostParameters.getParameters();
-		Object[] testArguments = new Object[parameters.length];
-		for (int i = 0; i < parameters.length; i++) {
-			String fallBackParameterName = parameters[i].getName();
-			String parameterName = ReflectionUtils.getParameterName(parameters[i], null, fallBackParameterName);
-			log.debug("Creating test Object for constructor parameter: {}", parameters[i].toString());
-			testArguments[i] = getTestObjectForParameter(parameters[i], parameterName);
-		}
-		constructorWithMostParameters.setAccessible(forceConstructorAccessible);
-		@SuppressWarnings("unchecked")
-		T newInstance = (T) constructorWithMostParameters.newInstance(testArguments);
-		assert newInstance != null;
-		if (parameters.length != 0) {
-			assert ReflectionUtils.allFieldsInitialized(newInstance);
-		} else {
-			log.debug("Skipping no-arguments constructor...");
+	/**
+	 * Constructs objects with the constructor with the most parameters, which is
+	 * made accessible.
+	 */
+	private static class ConstructingGenerator implements TestValueGenerator<Object> {
+
+		private final Constructor<?> constructor;
+		private final Class<?>[] parameterTypes;
+		private final String[] parameterNames;
+
+		public ConstructingGenerator(Class<?> clazz) {
+			super();
+			PojoMetadata.ConstructorPlan constructorPlan = PojoMetadata.constructorPlansOf(clazz).stream()
+					.max((p1, p2) -> Integer.compare(p1.parameterTypes.length, p2.parameterTypes.length)).orElseThrow(
+							() -> new NoConstructorFoundException("No constructor found for class " + clazz.getName()));
+			this.constructor = constructorPlan.constructor;
+			log.debug("Constructor with most parameters: {}", constructor.toGenericString());
+			this.constructor.setAccessible(true);
+			this.parameterTypes = constructorPlan.parameterTypes;
+			this.parameterNames = constructorPlan.parameterNames;
 		}
-		return newInstance;
-	}
 
-	@SuppressWarnings("unchecked")
-	private static <T> T getPredefinedTestObjectForClass(Class<? extends T> clazz)
-			throws IllegalArgumentException, IllegalAccessException, ObjectNotConstructedException {
-		Field fieldWithTestObject = PREDEFINED_TEST_OBJECTS_FIELDS.get(clazz);
-		if (fieldWithTestObject == null) {
-			throw new ObjectNotConstructedException("No predefined test object found.");
-		} else {
-			return (T) fieldWithTestObject.get(null);
+		@Override
+		public Object generate(String variableName)
+				throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+			Object[] testArguments = new Object[parameterTypes.length];
+			for (int i = 0; i < parameterTypes.length; i++) {
+				log.debug("Creating test Object for constructor parameter: {}", parameterNames[i]);
+				testArguments[i] = getTestValueForType(parameterTypes[i], parameterNames[i]);
+			}
+			Object newInstance = constructor.newInstance(testArguments);
+			assert newInstance != null;
+			if (parameterTypes.length != 0) {
+				assert ReflectionUtils.allFieldsInitialized(newInstance);
+			} else {
+				log.debug("Skipping no-arguments constructor...");
+			}
+			return newInstance;
 		}
+
 	}
 
 }
@@ -1,12 +1,17 @@
 package com.semantica.pocketknife.util;
 
+import java.lang.StackWalker.Option;
+import java.lang.StackWalker.StackFrame;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class TestUtils {
 
 	private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(TestUtils.class);
+	// Shows reflection frames, consistent with Thread.getStackTrace()
+	private static final StackWalker STACK_WALKER = StackWalker.getInstance(Option.SHOW_REFLECT_FRAMES);
 
 	/**
 	 * Get the method name for a {@code depth} in call stack.
@@ -15,13 +20,15 @@ public class TestUtils {
 	 * where this method {@link #traceLogMethodCall(int)} was invoked) and the
 	 * method from which the invoking method was called.
 	 *
+	 * Only the frames up to the requested {@code depth} are walked.
+	 *
 	 * @param depth The {@code depth} in the call stack (0 means current method, 1
 	 *              means invoking method, ...)
 	 * @return The method name at the requested {@code depth}.
 	 */
 	public static String getMethodName(final int depth) {
-		final StackTraceElement[] ste = Thread.currentThread().getStackTrace();
-		return ste[2 + depth].getMethodName();
+		return STACK_WALKER.walk(frames -> frames.skip(1 + depth).findFirst()).map(StackFrame::getMethodName)
+				.orElseThrow(() -> new IllegalArgumentException("Call stack is not " + depth + " methods deep."));
 	}
 
 	/**
@@ -31,12 +38,18 @@ public class TestUtils {
 	 * where this method {@link #traceLogMethodCall(int)} was invoked) and the
 	 * method from which the invoking method was called.
 	 *
+	 * The call stack is only walked when trace logging is enabled.
+	 *
 	 * @param depth The {@code depth} in the call stack (0 means current method, 1
 	 *              means invoking method, ...)
 	 */
 	public static void traceLogMethodCall(final int depth) {
-		log.trace("In method: " + Thread.currentThread().getStackTrace()[2 + depth] + ", called from: "
-				+ Thread.currentThread().getStackTrace()[3 + depth]);
+		if (log.isTraceEnabled()) {
+			List<StackTraceElement> methodAndCaller = STACK_WALKER.walk(frames -> frames.skip(1 + depth).limit(2)
+					.map(StackFrame::toStackTraceElement).collect(Collectors.toList()));
+			log.trace("In method: {}, called from: {}", methodAndCaller.get(0),
+					methodAndCaller.size() > 1 ? methodAndCaller.get(1) : "(bottom of call stack)");
+		}
 	}
 
 	/**
@@ -100,7 +113,11 @@ public class TestUtils {
 	 * @param elementsToRemoveFromBeginning Number of elements to remove from the
 	 *                                      beginning.
 	 * @return The truncated stack trace.
+	 * @deprecated Stack traces of registered calls are captured by
+	 *             {@link com.semantica.pocketknife.calls.StackTraceCapture},
+	 *             which walks only the frames it needs.
 	 */
+	@Deprecated
 	public static StackTraceElement[] getTruncatedStackTrace(int elementsToRemoveFromBeginning) {
 		return Arrays.stream(Thread.currentThread().getStackTrace()).skip(elementsToRemoveFromBeginning + 1)
 				.toArray(StackTraceElement[]::new); // +1 for also counting this method in distance
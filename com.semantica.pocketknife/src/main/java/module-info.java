@@ -19,6 +19,7 @@ module com.semantica.pocketknife {
     requires com.fasterxml.jackson.core;
     requires com.fasterxml.jackson.databind;
     requires com.fasterxml.jackson.dataformat.yaml;
+    requires com.fasterxml.jackson.dataformat.smile;
 
     opens com.semantica.pocketknife.methodrecorder.dynamicproxies to net.bytebuddy;
     opens com.semantica.pocketknife to com.fasterxml.jackson.databind;
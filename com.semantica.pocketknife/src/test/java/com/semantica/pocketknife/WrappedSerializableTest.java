@@ -1,11 +1,25 @@
 package com.semantica.pocketknife;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.StringWriter;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.semantica.pocketknife.WrappedSerializable.SerializationType;
 
 public class WrappedSerializableTest {
@@ -24,6 +38,68 @@ public class WrappedSerializableTest {
 
 	}
 
+	public static class Fixture implements Serializable {
+		private static final long serialVersionUID = 1L;
+		private String name;
+		private List<Integer> values;
+
+		public Fixture() {
+			super();
+		}
+
+		public Fixture(String name, List<Integer> values) {
+			super();
+			this.name = name;
+			this.values = values;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public List<Integer> getValues() {
+			return values;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(name, values);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null)
+				return false;
+			if (getClass() != obj.getClass())
+				return false;
+			Fixture other = (Fixture) obj;
+			return Objects.equals(name, other.name) && Objects.equals(values, other.values);
+		}
+
+	}
+
+	public static class UpperCasing implements Serializable {
+		private static final long serialVersionUID = 1L;
+		private String value = "test";
+
+		public String getValue() {
+			return value;
+		}
+
+		public void setValue(String value) {
+			this.value = value.toUpperCase();
+		}
+
+	}
+
+	public static class Unordered implements Serializable {
+		private static final long serialVersionUID = 1L;
+		@JsonDeserialize(as = TreeMap.class)
+		public Map<String, Integer> values;
+	}
+
 	@Test
 	public void toStringShouldSerializeToJson() throws JsonProcessingException {
 		WrappedSerializable<SomeSerializable> test = WrappedSerializable.builder(new SomeSerializable())
@@ -59,4 +135,143 @@ public class WrappedSerializableTest {
 		Assertions.assertThrows(IllegalStateException.class, test::toString);
 	}
 
+	@Test
+	public void shouldSerializeWithCustomMapper() throws JsonProcessingException {
+		ObjectMapper indentingMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+		WrappedSerializable<SomeSerializable> test = WrappedSerializable.builder(new SomeSerializable())
+				.objectToJsonMapper(indentingMapper).build();
+		WrappedSerializable<SomeSerializable> otherTest = WrappedSerializable.builder(new SomeSerializable())
+				.objectToJsonMapper(indentingMapper).build();
+		String expectedJson = "{" + System.lineSeparator() + "  \"myValue\" : \"test\"" + System.lineSeparator() + "}";
+		Assertions.assertEquals(expectedJson, test.getJson());
+		Assertions.assertEquals(expectedJson, otherTest.getJson());
+		Assertions.assertEquals("{\"myValue\":\"test\"}",
+				WrappedSerializable.builder(new SomeSerializable()).build().getJson());
+	}
+
+	@Test
+	public void shouldNotKeepCustomMapperAlive() throws IOException, InterruptedException {
+		WeakReference<ObjectMapper> customMapper = serializeAndParseWithCustomMapper();
+		for (int i = 0; i < 50 && customMapper.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		Assertions.assertNull(customMapper.get());
+	}
+
+	private WeakReference<ObjectMapper> serializeAndParseWithCustomMapper() throws IOException {
+		ObjectMapper customMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+		WrappedSerializable<Fixture> test = WrappedSerializable.builder(new Fixture("name", List.of(1, 2)))
+				.objectToJsonMapper(customMapper).defaultSerializationType(SerializationType.JSON).build();
+		Assertions.assertNotNull(test.getJson());
+		Assertions.assertTrue(test.roundTripEquals());
+		return new WeakReference<>(customMapper);
+	}
+
+	@Test
+	public void shouldSerializeNull() throws JsonProcessingException {
+		WrappedSerializable<SomeSerializable> test = WrappedSerializable.builder((SomeSerializable) null).build();
+		Assertions.assertEquals("null", test.toString());
+	}
+
+	@Test
+	public void shouldReturnMemoizedSerializationsWhenMemoizing() throws JsonProcessingException {
+		SomeSerializable serializable = new SomeSerializable();
+		WrappedSerializable<SomeSerializable> test = WrappedSerializable.builder(serializable).memoize(true).build();
+		String json = test.getJson();
+		String yaml = test.getYaml();
+		serializable.setMyValue("changed");
+		Assertions.assertSame(json, test.getJson());
+		Assertions.assertSame(yaml, test.getYaml());
+		Assertions.assertSame(json, test.toString());
+		Assertions.assertEquals("{\"myValue\":\"changed\"}", WrappedSerializable.builder(serializable).build().getJson());
+	}
+
+	@Test
+	public void shouldStreamToOpenTargets() throws IOException {
+		WrappedSerializable<SomeSerializable> test = WrappedSerializable.builder(new SomeSerializable()).build();
+		StringWriter writer = new StringWriter();
+		ByteArrayOutputStream out = new ByteArrayOutputStream() {
+			@Override
+			public void close() throws IOException {
+				throw new IOException("Target should not be closed.");
+			}
+		};
+		test.writeJsonTo(writer);
+		writer.write('\n');
+		test.writeYamlTo(writer);
+		test.writeJsonTo(out);
+		test.writeYamlTo(out);
+		Assertions.assertEquals(test.getJson() + "\n" + test.getYaml(), writer.toString());
+		Assertions.assertEquals(test.getJson() + test.getYaml(), out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void shouldStreamMemoizedSerializations() throws IOException {
+		WrappedSerializable<SomeSerializable> test = WrappedSerializable.builder(new SomeSerializable()).memoize(true)
+				.build();
+		String json = test.getJson();
+		StringWriter writer = new StringWriter();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		test.writeJsonTo(writer);
+		test.writeJsonTo(out);
+		test.writeYamlTo(out);
+		Assertions.assertEquals(json, writer.toString());
+		Assertions.assertEquals(json + test.getYaml(), out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void bytesShouldRoundTrip() throws IOException {
+		WrappedSerializable<Fixture> test = WrappedSerializable.builder(new Fixture("test", List.of(1, 2, 3))).build();
+		byte[] bytes = test.getBytes();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		test.writeBytesTo(out);
+		Assertions.assertArrayEquals(bytes, out.toByteArray());
+		Assertions.assertTrue(bytes.length < test.getJson().getBytes(StandardCharsets.UTF_8).length);
+		Assertions.assertEquals(test, WrappedSerializable.fromBytes(bytes, Fixture.class));
+	}
+
+	@Test
+	public void toStringShouldSerializeToBase64EncodedSmile() throws JsonProcessingException {
+		WrappedSerializable<Fixture> test = WrappedSerializable.builder(new Fixture("test", List.of(1, 2, 3)))
+				.defaultSerializationType(SerializationType.SMILE).build();
+		Assertions.assertArrayEquals(test.getBytes(), Base64.getDecoder().decode(test.toString()));
+	}
+
+	@Test
+	public void parsedJsonAndYamlShouldEqualWrappedObject() throws JsonProcessingException {
+		WrappedSerializable<Fixture> test = WrappedSerializable.builder(new Fixture("test", List.of(1, 2, 3))).build();
+		WrappedSerializable<Fixture> parsedJson = WrappedSerializable.parseJson(test.getJson(), Fixture.class);
+		WrappedSerializable<Fixture> parsedYaml = WrappedSerializable.parseYaml(test.getYaml(), Fixture.class);
+		Assertions.assertEquals(test, parsedJson);
+		Assertions.assertEquals(test, parsedYaml);
+		Assertions.assertEquals(test.getJson(), parsedJson.toString());
+		Assertions.assertEquals(test.getYaml(), parsedYaml.toString());
+	}
+
+	@Test
+	public void shouldSurviveRoundTripsOfAllSerializationTypes() throws IOException {
+		WrappedSerializable<Fixture> test = WrappedSerializable.builder(new Fixture("test", List.of(1, 2, 3))).build();
+		for (SerializationType serializationType : SerializationType.values()) {
+			Assertions.assertTrue(test.roundTripEquals(serializationType));
+		}
+	}
+
+	@Test
+	public void shouldSurviveRoundTripWhenMapEntriesAreReordered() throws IOException {
+		Unordered unordered = new Unordered();
+		unordered.values = new LinkedHashMap<>();
+		for (int i = 20; i > 0; i--) {
+			unordered.values.put("key" + i, i);
+		}
+		Assertions.assertTrue(WrappedSerializable.builder(unordered).build().roundTripEquals());
+	}
+
+	@Test
+	public void shouldNotSurviveRoundTripWhenDeserializationChangesObject() throws IOException {
+		WrappedSerializable<UpperCasing> test = WrappedSerializable.builder(new UpperCasing()).build();
+		Assertions.assertFalse(test.roundTripEquals());
+		Assertions.assertFalse(test.roundTripEquals(SerializationType.SMILE));
+	}
+
 }
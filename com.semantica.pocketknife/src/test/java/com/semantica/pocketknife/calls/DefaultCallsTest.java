@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.function.Predicate;
 
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 public class DefaultCallsTest {
@@ -327,4 +328,51 @@ public class DefaultCallsTest {
 		assert defaultCalls.verifyNoMoreMethodInvocations();
 	}
 
+
+	@Test
+	public void shouldVerifyCallsAmongManyRegisteredCallsForDifferentMethods()
+			throws NoSuchMethodException, SecurityException {
+		DefaultCalls<Method> defaultCalls = CallsFactory.getDefaultCalls();
+		Method testMethod = this.getClass().getMethod("testMethod", Object.class);
+		Method otherTestMethod = this.getClass().getMethod("otherTestMethod", Object.class);
+		for (int i = 0; i < 1000; i++) {
+			defaultCalls.registerCall(testMethod, i);
+		}
+		defaultCalls.registerCall(otherTestMethod, "other");
+
+		assert defaultCalls.verifyCall(Invoked.ONCE, testMethod, 500);
+		assert defaultCalls.verifyCall(Invoked.NEVER, testMethod, 1000);
+		assert defaultCalls.verifyAndRemoveCall(Invoked.ONCE, otherTestMethod, Matchers.any(Object.class));
+		assert defaultCalls.verifyCall(Invoked.NEVER, otherTestMethod, Matchers.any(Object.class));
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> defaultCalls.verifyCall(Invoked.ONCE, testMethod, Matchers.any(Integer.class)));
+		for (int i = 0; i < 1000; i++) {
+			assert defaultCalls.verifyAndRemoveCall(Invoked.ONCE, testMethod, Matchers.equalTo(i));
+		}
+		assert defaultCalls.verifyNoMoreMethodInvocations();
+	}
+
+
+	@Test
+	public void shouldCaptureStackTracesAccordingToPolicy() throws NoSuchMethodException, SecurityException {
+		Method testMethod = this.getClass().getMethod("testMethod", Object.class);
+		StackTraceElement[] fullStackTrace = registerCallAndGetStackTrace(StackTraceCapture.FULL, testMethod);
+		StackTraceElement[] callerFrames = registerCallAndGetStackTrace(StackTraceCapture.callerFramesOnly(2),
+				testMethod);
+		StackTraceElement[] noStackTrace = registerCallAndGetStackTrace(StackTraceCapture.NONE, testMethod);
+
+		assert fullStackTrace.length > 2;
+		assert fullStackTrace[0].getMethodName().equals("registerCallAndGetStackTrace");
+		assert callerFrames.length == 2;
+		assert callerFrames[0].getMethodName().equals("registerCallAndGetStackTrace");
+		assert callerFrames[1].getMethodName().equals("shouldCaptureStackTracesAccordingToPolicy");
+		assert noStackTrace.length == 0;
+	}
+
+	private StackTraceElement[] registerCallAndGetStackTrace(StackTraceCapture stackTraceCapture, Method method) {
+		CallsRegistry<Method> callsRegistry = (CallsRegistry<Method>) CallsFactory.getDefaultCalls(stackTraceCapture);
+		callsRegistry.registerCall(method, "arg");
+		return callsRegistry.calls.values().iterator().next().get(0).getStackTraceElements();
+	}
+
 }
@@ -0,0 +1,33 @@
+package com.semantica.pocketknife.calls;
+
+import org.junit.jupiter.api.Test;
+
+public class MethodCallTest {
+
+	@Test
+	public void methodCallsWithDeeplyEqualArrayArgumentsShouldBeEqual() {
+		MethodCall<String> methodCall = new MethodCall<>("method", new int[] { 1, 2 },
+				new Object[] { "a", new long[] { 3L } });
+		MethodCall<String> otherMethodCall = new MethodCall<>("method", new int[] { 1, 2 },
+				new Object[] { "a", new long[] { 3L } });
+		assert methodCall.equals(otherMethodCall);
+		assert methodCall.hashCode() == otherMethodCall.hashCode();
+	}
+
+	@Test
+	public void methodCallsWithDifferentArgumentsShouldNotBeEqual() {
+		MethodCall<String> methodCall = new MethodCall<>("method", new int[] { 1, 2 }, null);
+		assert !methodCall.equals(new MethodCall<>("method", new int[] { 2, 1 }, null));
+		assert !methodCall.equals(new MethodCall<>("method", new int[] { 1, 2 }));
+		assert !methodCall.equals(new MethodCall<>("otherMethod", new int[] { 1, 2 }, null));
+		assert !methodCall.equals(null);
+	}
+
+	@Test
+	public void methodCallShouldMatchDeeplyEqualPrimitiveArrayArguments() {
+		MethodCall<String> registeredMethodCall = new MethodCall<>("method", (Object) new byte[] { 1, 2 });
+		MethodCall<String> queryMethodCall = new MethodCall<>("method", (Object) new byte[] { 1, 2 });
+		assert CallsUtils.match(registeredMethodCall, queryMethodCall);
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.semantica.pocketknife.methodrecorder;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IdentifierSequenceTest {
+
+	@Test
+	public void shouldAllocateUniqueByteIdentifiersUntilRangeWrapsAround() {
+		IdentifierSequence identifierSequence = new IdentifierSequence();
+		Set<Byte> identifierValues = new HashSet<>();
+		for (int i = 0; i < 256; i++) {
+			identifierValues.add(identifierSequence.next(byte.class));
+		}
+		Assertions.assertEquals(256, identifierValues.size());
+	}
+
+	@Test
+	public void shouldShareSequenceOfPrimitiveAndWrapperType() {
+		IdentifierSequence identifierSequence = new IdentifierSequence();
+		int first = identifierSequence.next(int.class);
+		Integer second = identifierSequence.next(Integer.class);
+		Assertions.assertEquals(first + 1, second);
+	}
+
+	@Test
+	public void shouldAllocateUniqueFloatingPointIdentifiers() {
+		IdentifierSequence identifierSequence = new IdentifierSequence();
+		Assertions.assertNotEquals(identifierSequence.next(double.class), identifierSequence.next(Double.class));
+		Assertions.assertNotEquals(identifierSequence.next(float.class), identifierSequence.next(float.class));
+	}
+
+	@Test
+	public void shouldNotAllocateSequenceForBooleansAndReferenceTypes() {
+		IdentifierSequence identifierSequence = new IdentifierSequence();
+		Assertions.assertEquals(Boolean.FALSE, identifierSequence.next(boolean.class));
+		Assertions.assertNotEquals(identifierSequence.next(Object.class), identifierSequence.next(Object.class));
+	}
+
+}
@@ -280,6 +280,16 @@ public class MethodRecorderTest {
 						methodRecorder.storeAndCreateIdInstanceOfTypeArgument(matcher, boolean.class))));
 	}
 
+	@Test
+	public void shouldThrowAmbiguouslyDefinedMatchersExceptionForFalseNextToBooleanMatcherWhenMatcherOfOtherTypeIsStored()
+			throws NoSuchMethodException, SecurityException {
+		Matcher<Boolean> matcher = Matchers.any(boolean.class);
+		methodRecorder.storeAndCreateIdInstanceOfTypeArgument(Matchers.any(int.class), int.class);
+		Assertions.assertThrows(AmbiguouslyDefinedMatchersException.class,
+				() -> methodRecorder.getMethodCall(methodRecorder.getProxy().twoParameters(false,
+						methodRecorder.storeAndCreateIdInstanceOfTypeArgument(matcher, boolean.class))));
+	}
+
 	@Test
 	public void shouldNotThrowAmbiguouslyDefinedMatchersExceptionForFalseNextToBooleanMatcherIfMatcherArgumentPositionSpecified()
 			throws NoSuchMethodException, SecurityException {
@@ -348,6 +358,21 @@ public class MethodRecorderTest {
 				.equals(new MethodCall<>(Methods.class.getMethod("twoParameters", int.class, int.class), 11, matcher));
 	}
 
+	@Test
+	public void shouldNotThrowAmbiguouslyDefinedMatchersExceptionForTwoIntegerMatchersNextToEachOther()
+			throws NoSuchMethodException, SecurityException {
+		Matcher<Integer> matcher = Matchers.any(int.class);
+		Predicate<Integer> predicate = i -> i > 0;
+		for (int i = 0; i < 100; i++) {
+			assert methodRecorder
+					.getMethodCall(methodRecorder.getProxy().twoParameters(
+							methodRecorder.storeAndCreateIdInstanceOfTypeArgument(matcher, int.class),
+							methodRecorder.storeAndCreateIdInstanceOfTypeArgument(predicate, int.class)))
+					.equals(new MethodCall<>(Methods.class.getMethod("twoParameters", int.class, int.class), matcher,
+							predicate));
+		}
+	}
+
 	@Test
 	public void shouldThrowAmbiguouslyDefinedMatchersExceptionOnlyForBooleanTypes_Test1of2()
 			throws NoSuchMethodException, SecurityException {
@@ -451,4 +476,36 @@ public class MethodRecorderTest {
 						methodRecorder.storeAndCreateIdInstanceOfTypeArgument(objectMatcher, Object.class))));
 	}
 
+
+	@Test
+	public void methodRecordersOfSameClassShouldShareProxyClass() {
+		MethodRecorder<Methods> otherMethodRecorder = new MethodRecorder<>(Methods.class);
+		assert methodRecorder.getProxy().getClass() == otherMethodRecorder.getProxy().getClass();
+		assert methodRecorder.getProxy() != otherMethodRecorder.getProxy();
+	}
+
+	@Test
+	public void methodRecordersOfSameClassShouldRecordIndependently() throws NoSuchMethodException, SecurityException {
+		MethodRecorder<Methods> otherMethodRecorder = new MethodRecorder<>(Methods.class);
+		methodRecorder.getProxy().oneParameter(1);
+		otherMethodRecorder.getProxy().twoParameters(2, 3);
+		Assertions.assertEquals(new MethodCall<>(Methods.class.getMethod("oneParameter", int.class), 1),
+				methodRecorder.getMethodCall());
+		Assertions.assertEquals(new MethodCall<>(Methods.class.getMethod("twoParameters", int.class, int.class), 2, 3),
+				otherMethodRecorder.getMethodCall());
+	}
+
+
+	@Test
+	public void toStringHashCodeEqualsShouldNotBeRecordedWhenOverriddenInRecordedClass()
+			throws NoSuchMethodException, SecurityException {
+		MethodRecorder<SomeClass> someClassRecorder = new MethodRecorder<>(SomeClass.class);
+		SomeClass proxy = someClassRecorder.getProxy();
+		assert proxy.hashCode() == System.identityHashCode(proxy);
+		assert proxy.equals(proxy);
+		assert !proxy.equals(new SomeClass(1));
+		assert proxy.toString().startsWith("Proxy recording method invocations on: " + SomeClass.class);
+		assert someClassRecorder.getMethodCall() == null;
+	}
+
 }
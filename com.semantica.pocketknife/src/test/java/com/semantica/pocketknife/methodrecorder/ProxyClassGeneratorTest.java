@@ -0,0 +1,151 @@
+package com.semantica.pocketknife.methodrecorder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.semantica.pocketknife.calls.MethodCall;
+import com.semantica.pocketknife.methodrecorder.dynamicproxies.ClassLoadingStrategyFinder;
+import com.semantica.pocketknife.methodrecorder.dynamicproxies.Dummy;
+
+public class ProxyClassGeneratorTest {
+
+	private final ClassLoadingStrategyFinder<Dummy> strategyFinder = new ClassLoadingStrategyFinder<>(Dummy.class);
+
+	public interface Calculator {
+		int add(int a, int b);
+	}
+
+	public interface Converter {
+		String convert(Calculator calculator);
+	}
+
+	@Test
+	public void shouldWriteClassFilesOfProxies() throws IOException {
+		Path outputDirectory = Files.createTempDirectory("proxies");
+		try {
+			ProxyClassGenerator.generate(outputDirectory, List.of(Calculator.class, String.class));
+
+			Assertions.assertTrue(Files.exists(classFile(outputDirectory, Calculator.class, "MethodRecorderProxy")));
+			Assertions.assertTrue(Files.exists(classFile(outputDirectory, Calculator.class, "IdentifyingProxy")));
+			Assertions.assertFalse(Files.exists(classFile(outputDirectory, String.class, "MethodRecorderProxy")));
+		} finally {
+			try (Stream<Path> files = Files.walk(outputDirectory)) {
+				files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+			}
+		}
+	}
+
+	@Test
+	public void shouldUsePregeneratedProxiesFromClassPath() throws Exception {
+		Path outputDirectory = Files.createTempDirectory("proxies");
+		try {
+			ProxyClassGenerator.generate(outputDirectory, List.of(Converter.class));
+
+			/*
+			 * The classes of this library are defined again by a class loader that also
+			 * finds the generated class files, so that the pre-generated proxies are on
+			 * its class path without touching the build output directory.
+			 */
+			ClassLoader classLoader = new IsolatingClassLoader(outputDirectory);
+			Runnable check = (Runnable) classLoader.loadClass(PregeneratedProxiesCheck.class.getName())
+					.getConstructor().newInstance();
+			check.run();
+		} finally {
+			try (Stream<Path> files = Files.walk(outputDirectory)) {
+				files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+			}
+		}
+	}
+
+	public static class PregeneratedProxiesCheck implements Runnable {
+
+		@Override
+		public void run() {
+			ClassLoadingStrategyFinder<Dummy> strategyFinder = new ClassLoadingStrategyFinder<>(Dummy.class);
+			MethodRecorder<Converter> methodRecorder = new MethodRecorder<>(Converter.class);
+			Assertions.assertEquals(
+					strategyFinder.getPregeneratedTargetClassName(Converter.class, "MethodRecorderProxy"),
+					methodRecorder.getProxy().getClass().getName());
+			Calculator calculator = (a, b) -> a + b;
+			try {
+				Assertions.assertEquals(
+						new MethodCall<>(Converter.class.getMethod("convert", Calculator.class), calculator),
+						methodRecorder.getMethodCall(() -> methodRecorder.getProxy().convert(calculator)));
+			} catch (NoSuchMethodException e) {
+				throw new IllegalStateException(e);
+			}
+
+			Converter identifierValue = RandomIdentifierValues.identifierValue(Converter.class);
+			Assertions.assertEquals(strategyFinder.getPregeneratedTargetClassName(Converter.class, "IdentifyingProxy"),
+					identifierValue.getClass().getName());
+			Assertions.assertEquals("Identifier dummy instance of class: " + Converter.class + ", hashCode: "
+					+ System.identityHashCode(identifierValue), identifierValue.toString());
+			Assertions.assertNull(identifierValue.convert(calculator));
+		}
+
+	}
+
+	/**
+	 * Defines the classes of this library itself (reading their class files from
+	 * the parent class loader, or from the additional classes directory) and
+	 * delegates all other classes to the parent class loader.
+	 */
+	private static class IsolatingClassLoader extends ClassLoader {
+
+		private static final String LIBRARY_PACKAGE_PREFIX = "com.semantica.pocketknife.";
+		private final Path additionalClassesDirectory;
+
+		public IsolatingClassLoader(Path additionalClassesDirectory) {
+			super(ProxyClassGeneratorTest.class.getClassLoader());
+			this.additionalClassesDirectory = additionalClassesDirectory;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!name.startsWith(LIBRARY_PACKAGE_PREFIX)) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> loadedClass = findLoadedClass(name);
+				if (loadedClass == null) {
+					loadedClass = findClass(name);
+				}
+				if (resolve) {
+					resolveClass(loadedClass);
+				}
+				return loadedClass;
+			}
+		}
+
+		@Override
+		protected Class<?> findClass(String name) throws ClassNotFoundException {
+			String classFileName = name.replace('.', '/') + ".class";
+			Path additionalClassFile = additionalClassesDirectory.resolve(classFileName);
+			try (InputStream classFile = Files.exists(additionalClassFile) ? Files.newInputStream(additionalClassFile)
+					: getParent().getResourceAsStream(classFileName)) {
+				if (classFile == null) {
+					throw new ClassNotFoundException(name);
+				}
+				byte[] bytes = classFile.readAllBytes();
+				return defineClass(name, bytes, 0, bytes.length);
+			} catch (IOException e) {
+				throw new ClassNotFoundException(name, e);
+			}
+		}
+
+	}
+
+	private Path classFile(Path outputDirectory, Class<?> type, String proxyTypeIdentifier) {
+		return outputDirectory.resolve(
+				strategyFinder.getPregeneratedTargetClassName(type, proxyTypeIdentifier).replace('.', '/') + ".class");
+	}
+
+}
@@ -1,6 +1,9 @@
 package com.semantica.pocketknife.methodrecorder;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -32,6 +35,45 @@ public class RandomIdentifierValuesTest {
 		assert someInstance.getClass().equals(otherInstance.getClass());
 	}
 
+	@Test
+	public void shouldDescribeRequestedClass() {
+		SomeClass someInstance = RandomIdentifierValues.identifierValue(SomeClass.class);
+		Assert.actual(someInstance.toString()).equalsExpected("Identifier dummy instance of class: " + SomeClass.class
+				+ ", hashCode: " + System.identityHashCode(someInstance));
+	}
+
+	@Test
+	public void shouldCreateDistinctInstancesInParallel() {
+		List<SomeClass> instances = IntStream.range(0, 1000).parallel()
+				.mapToObj(i -> RandomIdentifierValues.identifierValue(SomeClass.class)).collect(Collectors.toList());
+		assert instances.stream().distinct().count() == instances.size();
+		assert instances.stream().map(Object::getClass).distinct().count() == 1;
+	}
+
+	public interface Service {
+		void serve(Runnable task, int priority, String name);
+	}
+
+	@Test
+	public void shouldTakeDistinctInstancesFromWarmedUpPool() {
+		RandomIdentifierValues.warmUp(SomeClass.class);
+		List<SomeClass> instances = IntStream.range(0, 100)
+				.mapToObj(i -> RandomIdentifierValues.identifierValue(SomeClass.class)).collect(Collectors.toList());
+		assert instances.stream().distinct().count() == instances.size();
+		Assert.actual(instances.get(0).getClass().getName())
+				.equalsExpected("com.semantica.pocketknife.methodrecorder.dynamicproxies.SomeClassIdentifyingProxy");
+	}
+
+	@Test
+	public void shouldWarmUpParameterTypesOfInterface() {
+		RandomIdentifierValues.warmUpParameterTypesOf(Service.class);
+		Runnable someInstance = RandomIdentifierValues.identifierValue(Runnable.class);
+		Runnable otherInstance = RandomIdentifierValues.identifierValue(Runnable.class);
+		assert !someInstance.equals(otherInstance);
+		Assert.actual(someInstance.toString()).equalsExpected("Identifier dummy instance of class: " + Runnable.class
+				+ ", hashCode: " + System.identityHashCode(someInstance));
+	}
+
 	@Test
 	public void shouldNotEqualForTwoArrayInstances() {
 		int[] someInstance = RandomIdentifierValues.identifierValue(int[].class);
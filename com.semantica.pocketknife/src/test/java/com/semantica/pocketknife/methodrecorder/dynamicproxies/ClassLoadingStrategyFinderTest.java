@@ -0,0 +1,73 @@
+package com.semantica.pocketknife.methodrecorder.dynamicproxies;
+
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.matcher.ElementMatchers;
+
+public class ClassLoadingStrategyFinderTest {
+
+	private final ClassLoadingStrategyFinder<Dummy> strategyFinder = new ClassLoadingStrategyFinder<>(Dummy.class);
+
+	@AfterEach
+	public void clearHiddenClassesProperty() {
+		System.clearProperty(ClassLoadingStrategyFinder.HIDDEN_CLASSES_PROPERTY);
+	}
+
+	@Test
+	public void shouldReuseStrategy() {
+		Assertions.assertSame(strategyFinder.getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage(),
+				new ClassLoadingStrategyFinder<>(Dummy.class)
+						.getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage());
+	}
+
+	@Test
+	public void shouldDefineProxyInTargetPackage() throws ReflectiveOperationException {
+		Class<?> proxyClass = defineSupplier("named");
+		Assertions.assertEquals(strategyFinder.getTargetClassNameMatchingStrategy(Supplier.class, "NamedProxy"),
+				proxyClass.getName());
+		Assertions.assertEquals(Dummy.class.getPackage(), proxyClass.getPackage());
+	}
+
+	@Test
+	public void shouldDefineProxyAsHiddenClassWhenRequested() throws ReflectiveOperationException {
+		System.setProperty(ClassLoadingStrategyFinder.HIDDEN_CLASSES_PROPERTY, "true");
+		Class<?> proxyClass = defineSupplier("hidden");
+		// Class::isHidden is not available in Java 14, hidden class names contain a
+		// slash.
+		Assertions.assertTrue(proxyClass.getName().contains("/"));
+		Assertions.assertEquals(Dummy.class.getPackage(), proxyClass.getPackage());
+		Assertions.assertThrows(ClassNotFoundException.class,
+				() -> Class.forName(proxyClass.getName(), false, Dummy.class.getClassLoader()));
+	}
+
+	@Test
+	public void shouldNotDefineHiddenClassWhenNotAllowed() throws ReflectiveOperationException {
+		System.setProperty(ClassLoadingStrategyFinder.HIDDEN_CLASSES_PROPERTY, "true");
+		Assertions.assertSame(strategyFinder.getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage(),
+				strategyFinder.getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage(false));
+		Assertions.assertNotSame(strategyFinder.getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage(),
+				strategyFinder.getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage(true));
+	}
+
+	private Class<?> defineSupplier(String value) throws ReflectiveOperationException {
+		ClassLoadingStrategy<ClassLoader> strategy = strategyFinder
+				.getClassLoadingStrategyToDefineClassInSamePackageAsClassInTargetPackage(true);
+		Class<?> proxyClass = new ByteBuddy().subclass(TypeDescription.Generic.Builder
+				.parameterizedType(Supplier.class, String.class).build())
+				.name(strategyFinder.getTargetClassNameMatchingStrategy(Supplier.class,
+						value.substring(0, 1).toUpperCase() + value.substring(1) + "Proxy"))
+				.method(ElementMatchers.named("get")).intercept(FixedValue.value(value)).make()
+				.load(strategyFinder.getClassLoader(), strategy).getLoaded();
+		Assertions.assertEquals(value, ((Supplier<?>) proxyClass.getConstructor().newInstance()).get());
+		return proxyClass;
+	}
+
+}
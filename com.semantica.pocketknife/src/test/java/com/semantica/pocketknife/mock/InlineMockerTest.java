@@ -1,5 +1,12 @@
 package com.semantica.pocketknife.mock;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +17,7 @@ import com.semantica.pocketknife.MocksRegistry;
 import com.semantica.pocketknife.calls.Calls;
 import com.semantica.pocketknife.calls.CallsFactory.CallType;
 import com.semantica.pocketknife.calls.Invoked;
+import com.semantica.pocketknife.calls.Return;
 import com.semantica.pocketknife.util.Assert;
 
 public class InlineMockerTest {
@@ -141,4 +149,124 @@ public class InlineMockerTest {
         mocker.assertNoMoreMethodInvocations(carMock);
         mocker.assertNoMoreMethodInvocationsAnywhere();
     }
+
+    @Test
+    public void shouldReturnExactStubsAndMatcherStubsForManyStubbedArguments() throws Exception {
+        InlineMocker mocker = InlineMockers.get(CallType.DEFAULT);
+        MockedInterface carMock = mocker.mock(MockedInterface.class);
+        for (int i = 0; i < 100; i++) {
+            mocker.whenIntercepted(carMock.stubbedMethod(i)).thenReturn("Exact stub " + i);
+        }
+        mocker.whenIntercepted(carMock.stubbedMethod(mocker.matchArgWith(Matchers.greaterThan(100), Integer.class)))
+                .thenReturn("Matcher stub");
+
+        Assert.actual(carMock.stubbedMethod(INT_TEST_ARGUMENT)).equalsExpected("Exact stub " + INT_TEST_ARGUMENT);
+        Assert.actual(carMock.stubbedMethod(101)).equalsExpected("Matcher stub");
+        Assertions.assertNull(carMock.stubbedMethod(100));
+    }
+
+    @Test
+    public void shouldThrowWhenExactStubAndMatcherStubMatchInterceptedCall() throws Exception {
+        InlineMocker mocker = InlineMockers.get(CallType.DEFAULT);
+        MockedInterface carMock = mocker.mock(MockedInterface.class);
+        mocker.whenIntercepted(carMock.stubbedMethod(INT_TEST_ARGUMENT)).thenReturn(DRIVE_RETURN_VALUE);
+        mocker.whenIntercepted(carMock.stubbedMethod(mocker.matchArgWith(Matchers.any(Integer.class), Integer.class)))
+                .thenReturn(UNSTUBBED_METHOD_RETURN_VALUE);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> carMock.stubbedMethod(INT_TEST_ARGUMENT));
+    }
+
+    @Test
+    public void shouldDelegateUnstubbedMethodsToDelegate() throws Exception {
+        InlineMocker mocker = InlineMockers.get(CallType.DEFAULT);
+        MockedInterface carMock = mocker.mock(MockedInterface.class);
+        mocker.delegate(MockedInterface.class, carMock, implementation);
+        mocker.whenIntercepted(carMock.notStubbed()).thenReturn(DRIVE_RETURN_VALUE);
+
+        Assert.actual(carMock.stubbedMethod(INT_TEST_ARGUMENT)).equalsExpected(DRIVE_RETURN_VALUE);
+        Assert.actual(carMock.notStubbed()).equalsExpected(DRIVE_RETURN_VALUE);
+        Assert.actual(carMock.notStubbed()).equalsExpected(UNSTUBBED_METHOD_RETURN_VALUE);
+    }
+
+    @Test
+    public void shouldWrapExceptionThrownByDelegate() throws Exception {
+        InlineMocker mocker = InlineMockers.get(CallType.DEFAULT);
+        MockedInterface carMock = mocker.mock(MockedInterface.class);
+        mocker.delegate(MockedInterface.class, carMock, new MockedInterfaceImplementation() {
+            @Override
+            public String notStubbed() {
+                throw new IllegalStateException();
+            }
+        });
+
+        RuntimeException exception = Assertions.assertThrows(RuntimeException.class, () -> carMock.notStubbed());
+        Assertions.assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void shouldRegisterCallsAndReturnStubsForConcurrentInvocations() throws Exception {
+        final int threads = 8;
+        final int invocationsPerThread = 1000;
+        InlineMocker mocker = InlineMockers.getConcurrent(CallType.DEFAULT);
+        MockedInterface carMock = mocker.mock(MockedInterface.class);
+        mocker.whenIntercepted(carMock.stubbedMethod(INT_TEST_ARGUMENT)).thenReturn(DRIVE_RETURN_VALUE,
+                Return.times(threads * invocationsPerThread));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> stubbedReturnValueCounts = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            stubbedReturnValueCounts.add(executorService.submit(() -> {
+                int stubbedReturnValueCount = 0;
+                for (int j = 0; j < invocationsPerThread; j++) {
+                    if (DRIVE_RETURN_VALUE.equals(carMock.stubbedMethod(INT_TEST_ARGUMENT))) {
+                        stubbedReturnValueCount++;
+                    }
+                    carMock.notStubbed();
+                }
+                return stubbedReturnValueCount;
+            }));
+        }
+        int totalStubbedReturnValueCount = 0;
+        for (Future<Integer> stubbedReturnValueCount : stubbedReturnValueCounts) {
+            totalStubbedReturnValueCount += stubbedReturnValueCount.get();
+        }
+        executorService.shutdown();
+
+        Assert.actual(totalStubbedReturnValueCount).equalsExpected(threads * invocationsPerThread);
+        mocker.assertCalled(Invoked.times(threads * invocationsPerThread), carMock).stubbedMethod(INT_TEST_ARGUMENT);
+        mocker.assertCalled(Invoked.times(threads * invocationsPerThread), carMock).notStubbed();
+        mocker.assertNoMoreMethodInvocationsAnywhere();
+    }
+
+    @Test
+    public void shouldKeepConcurrentInvocationsWithSameArgumentsWhenStubbing() throws Exception {
+        final int threads = 8;
+        final int invocationsPerThread = 1000;
+        InlineMocker mocker = InlineMockers.getConcurrent(CallType.DEFAULT);
+        MockedInterface carMock = mocker.mock(MockedInterface.class);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch halfwayLatch = new CountDownLatch(threads);
+        List<Future<?>> invocations = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            invocations.add(executorService.submit(() -> {
+                for (int j = 0; j < invocationsPerThread; j++) {
+                    if (j == invocationsPerThread / 2) {
+                        halfwayLatch.countDown();
+                    }
+                    carMock.stubbedMethod(INT_TEST_ARGUMENT);
+                }
+                return null;
+            }));
+        }
+        halfwayLatch.await();
+        mocker.whenIntercepted(carMock.stubbedMethod(INT_TEST_ARGUMENT)).thenReturn(DRIVE_RETURN_VALUE);
+        for (Future<?> invocation : invocations) {
+            invocation.get();
+        }
+        executorService.shutdown();
+
+        mocker.assertCalled(Invoked.times(threads * invocationsPerThread), carMock).stubbedMethod(INT_TEST_ARGUMENT);
+        mocker.assertNoMoreMethodInvocationsAnywhere();
+    }
 }
@@ -0,0 +1,97 @@
+package com.semantica.pocketknife.mock.service.support.components;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.semantica.pocketknife.methodrecorder.dynamicproxies.ClassLoadingStrategyFinder;
+import com.semantica.pocketknife.methodrecorder.dynamicproxies.Dummy;
+
+public class DelegateInvokersTest {
+
+	public interface PublicService {
+		long add(int a, long b);
+
+		void store(String value);
+	}
+
+	public interface HiddenService {
+		String echo(String value);
+	}
+
+	interface PackagePrivateService {
+		long add(int a, long b);
+	}
+
+	@Test
+	public void shouldGenerateInvokerForPublicInterfaceMethod() throws Throwable {
+		DelegateInvoker invoker = DelegateInvokers.get(PublicService.class.getMethod("add", int.class, long.class));
+		PublicService service = new PublicService() {
+			@Override
+			public long add(int a, long b) {
+				return a + b;
+			}
+
+			@Override
+			public void store(String value) {
+			}
+		};
+
+		Assertions.assertEquals(Dummy.class.getPackage(), invoker.getClass().getPackage());
+		Assertions.assertEquals(5L, invoker.invoke(service, new Object[] { 2, 3L }));
+	}
+
+	@Test
+	public void shouldReturnNullForVoidMethod() throws Throwable {
+		DelegateInvoker invoker = DelegateInvokers.get(PublicService.class.getMethod("store", String.class));
+		List<String> stored = new ArrayList<>();
+		PublicService service = new PublicService() {
+			@Override
+			public long add(int a, long b) {
+				return 0;
+			}
+
+			@Override
+			public void store(String value) {
+				stored.add(value);
+			}
+		};
+
+		Assertions.assertNull(invoker.invoke(service, new Object[] { "value" }));
+		Assertions.assertEquals(List.of("value"), stored);
+	}
+
+	@Test
+	public void shouldInvokePackagePrivateInterfaceMethod() throws Throwable {
+		DelegateInvoker invoker = DelegateInvokers
+				.get(PackagePrivateService.class.getMethod("add", int.class, long.class));
+		PackagePrivateService service = (a, b) -> a + b;
+
+		Assertions.assertEquals(5L, invoker.invoke(service, new Object[] { 2, 3L }));
+	}
+
+	@Test
+	public void shouldGenerateHiddenInvokerWhenRequested() throws Throwable {
+		System.setProperty(ClassLoadingStrategyFinder.HIDDEN_CLASSES_PROPERTY, "true");
+		try {
+			DelegateInvoker invoker = DelegateInvokers.get(HiddenService.class.getMethod("echo", String.class));
+			HiddenService service = value -> value;
+
+			// Class::isHidden is not available in Java 14, hidden class names contain a
+			// slash.
+			Assertions.assertTrue(invoker.getClass().getName().contains("/"));
+			Assertions.assertEquals("value", invoker.invoke(service, new Object[] { "value" }));
+		} finally {
+			System.clearProperty(ClassLoadingStrategyFinder.HIDDEN_CLASSES_PROPERTY);
+		}
+	}
+
+	@Test
+	public void shouldCacheInvokerPerMethod() throws Throwable {
+		Assertions.assertSame(DelegateInvokers.get(PublicService.class.getMethod("store", String.class)),
+				DelegateInvokers.get(PublicService.class.getMethod("store", String.class)));
+	}
+
+}
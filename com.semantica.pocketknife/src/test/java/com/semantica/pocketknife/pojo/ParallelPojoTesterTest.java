@@ -0,0 +1,97 @@
+package com.semantica.pocketknife.pojo;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.MultipleFailuresError;
+
+import com.semantica.pocketknife.pojo.example.Configuration;
+import com.semantica.pocketknife.pojo.example.ConnectorsConfiguration;
+import com.semantica.pocketknife.pojo.example.ImapConfiguration;
+import com.semantica.pocketknife.pojo.example.ImapConnectionConfiguration;
+import com.semantica.pocketknife.pojo.example.MailArchiverConfiguration;
+import com.semantica.pocketknife.pojo.example.MessageQueueConfiguration;
+import com.semantica.pocketknife.pojo.example.RawMailDirConfiguration;
+
+public class ParallelPojoTesterTest {
+
+	public static class SwappedGetters {
+		private String first;
+		private String second;
+
+		public SwappedGetters() {
+			super();
+		}
+
+		public SwappedGetters(String first, String second) {
+			super();
+			this.first = first;
+			this.second = second;
+		}
+
+		public String getFirst() {
+			return second;
+		}
+
+		public void setFirst(String first) {
+			this.first = first;
+		}
+
+		public String getSecond() {
+			return first;
+		}
+
+		public void setSecond(String second) {
+			this.second = second;
+		}
+
+		@Override
+		public int hashCode() {
+			return HashCodeBuilder.reflectionHashCode(this);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return EqualsBuilder.reflectionEquals(this, obj);
+		}
+
+	}
+
+	public static class CustomToString extends LocalDateWrapper {
+		@Override
+		public String toString() {
+			return "CustomToString";
+		}
+	}
+
+	@Test
+	public void configurationPojoClassesShouldValidateInParallel() {
+		ForkJoinPool forkJoinPool = new ForkJoinPool(3);
+		try {
+			ReflectionPojoTester.testClassListForGettersSettersAndConstructorsInParallel(Arrays.asList(
+					Configuration.class, ConnectorsConfiguration.class, ImapConfiguration.class,
+					ImapConnectionConfiguration.class, MailArchiverConfiguration.class, MessageQueueConfiguration.class,
+					RawMailDirConfiguration.class), forkJoinPool);
+		} finally {
+			forkJoinPool.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldReportAllFailuresInClassListOrder() {
+		List<Class<?>> pojoClassesToTest = Arrays.asList(CustomToString.class, Configuration.class,
+				SwappedGetters.class);
+		MultipleFailuresError error = Assertions.assertThrows(MultipleFailuresError.class,
+				() -> ReflectionPojoTester.testClassListForGettersSettersAndConstructorsInParallel(pojoClassesToTest));
+		Assertions.assertEquals(2, error.getFailures().size());
+		Assertions.assertTrue(error.getFailures().get(0).getMessage().startsWith(CustomToString.class.getName()));
+		Assertions.assertTrue(error.getFailures().get(1).getMessage().startsWith(SwappedGetters.class.getName()));
+		Assertions.assertTrue(error.getFailures().get(1).getCause() instanceof AssertionError);
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.semantica.pocketknife.pojo;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.semantica.pocketknife.pojo.example.Configuration;
+import com.semantica.pocketknife.pojo.example.ConnectorsConfiguration;
+import com.semantica.pocketknife.pojo.example.ImapConfiguration;
+import com.semantica.pocketknife.pojo.example.ImapConnectionConfiguration;
+import com.semantica.pocketknife.pojo.example.MailArchiverConfiguration;
+import com.semantica.pocketknife.pojo.example.MessageQueueConfiguration;
+import com.semantica.pocketknife.pojo.example.RawMailDirConfiguration;
+
+public class PojoClassScannerTest {
+
+	private static final String EXAMPLE_PACKAGE = "com.semantica.pocketknife.pojo.example";
+
+	private final PojoClassScanner pojoClassScanner = new PojoClassScanner(getClass().getClassLoader());
+
+	@Test
+	public void shouldFindAllPojoClassesInExamplePackage() throws IOException {
+		try (Stream<Class<?>> pojoClasses = pojoClassScanner.scanPackage(EXAMPLE_PACKAGE)) {
+			Assertions.assertEquals(
+					Set.of(Configuration.class, ConnectorsConfiguration.class, ImapConfiguration.class,
+							ImapConnectionConfiguration.class, MailArchiverConfiguration.class,
+							MessageQueueConfiguration.class, RawMailDirConfiguration.class),
+					pojoClasses.collect(Collectors.toSet()));
+		}
+	}
+
+	@Test
+	public void shouldScanSubpackagesAndSkipClassesNotShapedLikePojos() throws IOException {
+		try (Stream<Class<?>> pojoClasses = pojoClassScanner.scanPackage("com.semantica.pocketknife.pojo")) {
+			Set<Class<?>> pojoClassSet = pojoClasses.collect(Collectors.toSet());
+			Assertions.assertTrue(pojoClassSet.contains(LocalDateWrapper.class));
+			Assertions.assertTrue(pojoClassSet.contains(Configuration.class));
+			Assertions.assertTrue(pojoClassSet.contains(PojoMetadataTest.Person.class));
+			Assertions.assertFalse(pojoClassSet.contains(ReflectionPojoTester.class));
+			Assertions.assertFalse(pojoClassSet.contains(PojoMetadataTest.class));
+		}
+	}
+
+	@Test
+	public void shouldFindNoPojoClassesInUnknownPackage() throws IOException {
+		try (Stream<Class<?>> pojoClasses = pojoClassScanner.scanPackage("com.semantica.pocketknife.unknown")) {
+			Assertions.assertEquals(0, pojoClasses.count());
+		}
+	}
+
+	@Test
+	public void examplePackageShouldValidate() throws IOException, InstantiationException, IllegalAccessException,
+			IllegalArgumentException, InvocationTargetException, NoSuchFieldException, SecurityException {
+		ReflectionPojoTester.testPackageForGettersSettersAndConstructors(EXAMPLE_PACKAGE);
+	}
+
+}
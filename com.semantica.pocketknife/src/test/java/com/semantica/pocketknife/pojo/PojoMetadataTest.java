@@ -0,0 +1,79 @@
+package com.semantica.pocketknife.pojo;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.semantica.pocketknife.pojo.example.Configuration;
+import com.semantica.pocketknife.pojo.example.ImapConfiguration;
+
+public class PojoMetadataTest {
+
+	public static class Person {
+		private String firstName;
+		private String lastName;
+		private int age;
+
+		public String getFirstName() {
+			return firstName;
+		}
+
+		public void setFirstName(String firstName) {
+			this.firstName = firstName;
+		}
+
+		public String getLastName() {
+			return lastName;
+		}
+
+		public void setLastName(String lastName) {
+			this.lastName = lastName;
+		}
+
+		public String getFullName() {
+			return firstName + " " + lastName;
+		}
+
+		public void setFullName(String fullName) {
+			String[] names = fullName.split(" ");
+			this.firstName = names[0];
+			this.lastName = names[1];
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+	}
+
+	@Test
+	public void shouldCacheMetadataPerClass() {
+		Assertions.assertSame(PojoMetadata.of(Configuration.class), PojoMetadata.of(Configuration.class));
+		Assertions.assertNotSame(PojoMetadata.of(Configuration.class), PojoMetadata.of(ImapConfiguration.class));
+	}
+
+	@Test
+	public void shouldFindDefaultGetterSetterPairsIncludingBooleanGetters() {
+		PojoMetadata pojoMetadata = PojoMetadata.of(ImapConfiguration.class);
+		Assertions.assertEquals(List.of("getFolders", "getErrorFolder", "getConnection", "isDeleteIfNoError"),
+				pojoMetadata.defaultGetterSetterPairs.stream().map(pair -> pair.getter.getName())
+						.collect(Collectors.toList()));
+		Assertions.assertEquals(List.of("folders", "errorFolder", "connection", "deleteIfNoError"),
+				pojoMetadata.defaultGetterSetterPairs.stream().map(pair -> pair.setterParameterName)
+						.collect(Collectors.toList()));
+		Assertions.assertTrue(pojoMetadata.customGetterSetterPairs.isEmpty());
+	}
+
+	@Test
+	public void shouldSkipFieldsWithoutAccessorsAndFindCustomGetterSetterPairs() {
+		PojoMetadata pojoMetadata = PojoMetadata.of(Person.class);
+		Assertions.assertEquals(List.of("firstName", "lastName"), pojoMetadata.defaultGetterSetterPairs.stream()
+				.map(pair -> pair.correspondingField.getName()).collect(Collectors.toList()));
+		Assertions.assertEquals(1, pojoMetadata.customGetterSetterPairs.size());
+		Assertions.assertEquals("getFullName", pojoMetadata.customGetterSetterPairs.get(0).getter.getName());
+		Assertions.assertEquals(1, pojoMetadata.constructorPlans.size());
+	}
+
+}
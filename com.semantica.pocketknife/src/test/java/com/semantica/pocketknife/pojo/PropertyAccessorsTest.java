@@ -0,0 +1,78 @@
+package com.semantica.pocketknife.pojo;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PropertyAccessorsTest {
+
+	public static class Bean {
+		private int count;
+		private boolean active;
+		private String name;
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+
+		public boolean isActive() {
+			return active;
+		}
+
+		public Bean setActive(boolean active) {
+			this.active = active;
+			return this;
+		}
+
+		@SuppressWarnings("unused")
+		private String getName() {
+			return name;
+		}
+
+		@SuppressWarnings("unused")
+		private void setName(String name) {
+			this.name = name;
+		}
+
+	}
+
+	@Test
+	public void shouldCompileAccessorsForPrimitiveProperties() throws NoSuchMethodException, NoSuchFieldException {
+		Function<Object, Object> getter = PropertyAccessors.getter(Bean.class.getMethod("getCount"));
+		BiConsumer<Object, Object> setter = PropertyAccessors.setter(Bean.class.getMethod("setCount", int.class));
+		Function<Object, Object> fieldReader = PropertyAccessors.fieldReader(Bean.class.getDeclaredField("count"));
+		Bean bean = new Bean();
+		setter.accept(bean, 42);
+		Assertions.assertEquals(42, getter.apply(bean));
+		Assertions.assertEquals(42, fieldReader.apply(bean));
+		Assertions.assertTrue(getter.getClass().getName().startsWith(Bean.class.getName() + "$$Lambda"));
+		Assertions.assertTrue(setter.getClass().getName().startsWith(Bean.class.getName() + "$$Lambda"));
+	}
+
+	@Test
+	public void shouldCompileAccessorsForFluentSetterAndPrivateMethods() throws NoSuchMethodException {
+		BiConsumer<Object, Object> activeSetter = PropertyAccessors
+				.setter(Bean.class.getMethod("setActive", boolean.class));
+		BiConsumer<Object, Object> nameSetter = PropertyAccessors
+				.setter(Bean.class.getDeclaredMethod("setName", String.class));
+		Function<Object, Object> nameGetter = PropertyAccessors.getter(Bean.class.getDeclaredMethod("getName"));
+		Bean bean = new Bean();
+		activeSetter.accept(bean, true);
+		nameSetter.accept(bean, "test");
+		Assertions.assertTrue(bean.isActive());
+		Assertions.assertEquals("test", nameGetter.apply(bean));
+	}
+
+	@Test
+	public void shouldThrowWhenSettingWrongType() throws NoSuchMethodException {
+		BiConsumer<Object, Object> setter = PropertyAccessors.setter(Bean.class.getMethod("setCount", int.class));
+		Assertions.assertThrows(ClassCastException.class, () -> setter.accept(new Bean(), "42"));
+	}
+
+}
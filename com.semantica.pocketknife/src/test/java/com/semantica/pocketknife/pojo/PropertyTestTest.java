@@ -0,0 +1,106 @@
+package com.semantica.pocketknife.pojo;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.MultipleFailuresError;
+
+import com.semantica.pocketknife.pojo.example.Configuration;
+import com.semantica.pocketknife.pojo.example.ImapConfiguration;
+import com.semantica.pocketknife.pojo.example.ImapConnectionConfiguration;
+
+public class PropertyTestTest {
+
+	public static class Truncating {
+		private int count;
+		private String name;
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(int count) {
+			this.count = (short) count;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = Objects.requireNonNull(name).trim();
+		}
+	}
+
+	public static class Primitives {
+		private long id;
+		private double weight;
+		private char initial;
+		private boolean active;
+
+		public long getId() {
+			return id;
+		}
+
+		public void setId(long id) {
+			this.id = id;
+		}
+
+		public double getWeight() {
+			return weight;
+		}
+
+		public void setWeight(double weight) {
+			this.weight = weight;
+		}
+
+		public char getInitial() {
+			return initial;
+		}
+
+		public void setInitial(char initial) {
+			this.initial = initial;
+		}
+
+		public boolean isActive() {
+			return active;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+	}
+
+	@Test
+	public void examplePojoClassesShouldPassPropertyTest() {
+		ReflectionPojoTester.propertyTest(ImapConnectionConfiguration.class, 100);
+		ReflectionPojoTester.propertyTest(ImapConfiguration.class, 100);
+		ReflectionPojoTester.propertyTest(Configuration.class, 10);
+		ReflectionPojoTester.propertyTest(Primitives.class, 1000, 42L);
+	}
+
+	@Test
+	public void shouldReportFailingValuesAndSeed() {
+		MultipleFailuresError error = Assertions.assertThrows(MultipleFailuresError.class,
+				() -> ReflectionPojoTester.propertyTest(Truncating.class, 100, 42L));
+		Assertions.assertTrue(error.getMessage().contains("(seed: 42)"));
+		List<String> messages = error.getFailures().stream().map(Throwable::getMessage).collect(Collectors.toList());
+		Assertions.assertTrue(messages.contains("Property count: set 2147483647, but got -1."));
+		Assertions.assertTrue(messages.stream().anyMatch(
+				message -> message.startsWith("Property name: setting or getting null threw java.lang.NullPointerException")));
+		Assertions.assertTrue(messages.contains("Property name: set  , but got ."));
+	}
+
+	@Test
+	public void shouldReportSameFailuresForSameSeed() {
+		MultipleFailuresError error = Assertions.assertThrows(MultipleFailuresError.class,
+				() -> ReflectionPojoTester.propertyTest(Truncating.class, 100, 7L));
+		MultipleFailuresError otherError = Assertions.assertThrows(MultipleFailuresError.class,
+				() -> ReflectionPojoTester.propertyTest(Truncating.class, 100, 7L));
+		Assertions.assertEquals(error.getMessage(), otherError.getMessage());
+	}
+
+}
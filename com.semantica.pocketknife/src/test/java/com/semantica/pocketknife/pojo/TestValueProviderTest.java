@@ -0,0 +1,145 @@
+package com.semantica.pocketknife.pojo;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestValueProviderTest {
+
+	public static class Money {
+		private final long amount;
+		private final String currency;
+
+		public Money(long amount, String currency) {
+			super();
+			this.amount = amount;
+			this.currency = currency;
+		}
+	}
+
+	public static class Account {
+		private final Money balance;
+		private final LocalDate opened;
+
+		public Account(Money balance, LocalDate opened) {
+			super();
+			this.balance = balance;
+			this.opened = opened;
+		}
+	}
+
+	public static class Coordinate {
+		private final int x;
+
+		public Coordinate(int x) {
+			super();
+			this.x = x;
+		}
+	}
+
+	public static class Counter {
+		private int count;
+
+		public Counter(int count) {
+			super();
+			this.count = count;
+		}
+
+		public void set(int count) {
+			this.count = count;
+		}
+	}
+
+	public static class Scoreboard {
+		private final Counter counter;
+
+		public Scoreboard(Counter counter) {
+			super();
+			this.counter = counter;
+		}
+	}
+
+	@Test
+	public void shouldKeepValuesForStringsAndNumbers() throws InstantiationException, IllegalAccessException,
+			IllegalArgumentException, InvocationTargetException, NoSuchFieldException, SecurityException {
+		Assertions.assertEquals("testName", TestValueProvider.getTestValueForType(String.class, "name"));
+		Assertions.assertEquals("testName".hashCode(), (int) TestValueProvider.getTestValueForType(int.class, "name"));
+		Assertions.assertEquals(Integer.valueOf("testName".hashCode()),
+				TestValueProvider.getTestValueForType(Integer.class, "name"));
+		Assertions.assertEquals(Long.valueOf("testName".hashCode()),
+				TestValueProvider.getTestValueForType(Long.class, "name"));
+		Assertions.assertEquals(Boolean.TRUE, TestValueProvider.getTestValueForType(Boolean.class, "name"));
+		Assertions.assertNotEquals(0d, (double) TestValueProvider.getTestValueForType(double.class, "name"));
+		Assertions.assertNotEquals((short) 0, (short) TestValueProvider.getTestValueForType(Short.class, "name"));
+	}
+
+	@Test
+	public void shouldProvideJavaTimeValues() throws InstantiationException, IllegalAccessException,
+			IllegalArgumentException, InvocationTargetException, NoSuchFieldException, SecurityException {
+		Assertions.assertEquals(PredefinedTestObjects.LOCAL_DATE,
+				TestValueProvider.getTestValueForType(LocalDate.class, "date"));
+		Assertions.assertEquals(PredefinedTestObjects.INSTANT,
+				TestValueProvider.getTestValueForType(Instant.class, "instant"));
+		Assertions.assertEquals(PredefinedTestObjects.ZONED_DATE_TIME,
+				TestValueProvider.getTestValueForType(ZonedDateTime.class, "zonedDateTime"));
+		Assertions.assertEquals(PredefinedTestObjects.DURATION,
+				TestValueProvider.getTestValueForType(Duration.class, "duration"));
+	}
+
+	@Test
+	public void shouldProvideOptionalsAndCollections() throws InstantiationException, IllegalAccessException,
+			IllegalArgumentException, InvocationTargetException, NoSuchFieldException, SecurityException {
+		Assertions.assertEquals(Optional.of("testName"), TestValueProvider.getTestValueForType(Optional.class, "name"));
+		Assertions.assertEquals(List.of("test", "name"), TestValueProvider.getTestValueForType(List.class, "name"));
+		Assertions.assertEquals(Set.of("test", "name"), TestValueProvider.getTestValueForType(Set.class, "name"));
+		Assertions.assertEquals("name",
+				((SortedSet<?>) TestValueProvider.getTestValueForType(SortedSet.class, "name")).first());
+		Assertions.assertEquals(2, ((Deque<?>) TestValueProvider.getTestValueForType(Deque.class, "name")).size());
+		Assertions.assertEquals(Map.of("name", "testName"), TestValueProvider.getTestValueForType(Map.class, "name"));
+	}
+
+	@Test
+	public void shouldConstructNestedObjectsWithConstructorWithMostParameters() throws InstantiationException,
+			IllegalAccessException, IllegalArgumentException, InvocationTargetException, NoSuchFieldException,
+			SecurityException {
+		Account account = TestValueProvider.getTestValueForType(Account.class, "account");
+		Assertions.assertEquals("testCurrency", account.balance.currency);
+		Assertions.assertEquals("testAmount".hashCode(), account.balance.amount);
+		Assertions.assertEquals(PredefinedTestObjects.LOCAL_DATE, account.opened);
+		Assertions.assertNotSame(account, TestValueProvider.getTestValueForType(Account.class, "account"));
+	}
+
+	@Test
+	public void shouldConstructParameterWhoseClassHasMethodNamedSet() throws InstantiationException,
+			IllegalAccessException, IllegalArgumentException, InvocationTargetException, NoSuchFieldException,
+			SecurityException {
+		Scoreboard scoreboard = TestValueProvider.getTestValueForType(Scoreboard.class, "scoreboard");
+		Assertions.assertEquals("testCount".hashCode(), scoreboard.counter.count);
+	}
+
+	@Test
+	public void shouldUseRegisteredGeneratorInsteadOfCachedConstructor() throws InstantiationException,
+			IllegalAccessException, IllegalArgumentException, InvocationTargetException, NoSuchFieldException,
+			SecurityException {
+		Assertions.assertEquals("testX".hashCode(), TestValueProvider.getTestValueForType(Coordinate.class, "c").x);
+		TestValueProvider.registerGenerator(Coordinate.class, name -> new Coordinate(name.length()));
+		try {
+			Assertions.assertEquals(8, TestValueProvider.getTestValueForType(Coordinate.class, "location").x);
+		} finally {
+			TestValueProvider.unregisterGenerator(Coordinate.class);
+		}
+		Assertions.assertEquals("testX".hashCode(), TestValueProvider.getTestValueForType(Coordinate.class, "c").x);
+	}
+
+}
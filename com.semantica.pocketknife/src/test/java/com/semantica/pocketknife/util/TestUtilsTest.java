@@ -32,6 +32,16 @@ public class TestUtilsTest {
 		assert TestUtils.getMethodName(0).equals("shouldReturnCorrectMethodName");
 	}
 
+	@Test
+	public void shouldReturnCorrectMethodNameOfInvokingMethod() {
+		assert getInvokingMethodName().equals("shouldReturnCorrectMethodNameOfInvokingMethod");
+	}
+
+	private String getInvokingMethodName() {
+		TestUtils.traceLogMethodCall(1);
+		return TestUtils.getMethodName(1);
+	}
+
 	@Test
 	public void shouldReturnListWithAllElements() {
 		char a = 'a';